@@ -25,6 +25,7 @@ import com.dremio.exec.vector.accessor.AbstractSqlAccessor;
 import com.dremio.exec.vector.accessor.InvalidAccessException;
 import com.dremio.exec.vector.accessor.SqlAccessor;
 import com.dremio.jdbc.SQLConversionOverflowException;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.Test;
 
 /**
@@ -574,6 +575,84 @@ public class TypeConvertingSqlAccessorTest {
     assertThat(uut3.getDouble(0)).isEqualTo(Double.MIN_VALUE);
   }
 
+  ////////////////////////////////////////
+  // - minor type resolved once, at construction:
+
+  @Test
+  public void test_getters_on_sameAccessor_convertFromEachType() throws InvalidAccessException {
+    final SqlAccessor tinyInt = new TypeConvertingSqlAccessor(new TinyIntStubAccessor((byte) 1));
+    final SqlAccessor smallInt =
+        new TypeConvertingSqlAccessor(new SmallIntStubAccessor((short) 2));
+    final SqlAccessor integer = new TypeConvertingSqlAccessor(new IntegerStubAccessor(3));
+    final SqlAccessor bigInt = new TypeConvertingSqlAccessor(new BigIntStubAccessor(4L));
+    final SqlAccessor float4 = new TypeConvertingSqlAccessor(new FloatStubAccessor(5.0f));
+    final SqlAccessor float8 = new TypeConvertingSqlAccessor(new DoubleStubAccessor(6.0));
+
+    // each getter switches on the cached type, in any order and as often as it is called
+    for (int i = 0; i < 2; i++) {
+      assertThat(tinyInt.getLong(0)).isEqualTo(1L);
+      assertThat(tinyInt.getByte(0)).isEqualTo((byte) 1);
+      assertThat(tinyInt.getInt(0)).isEqualTo(1);
+      assertThat(tinyInt.getShort(0)).isEqualTo((short) 1);
+
+      assertThat(smallInt.getByte(0)).isEqualTo((byte) 2);
+      assertThat(smallInt.getLong(0)).isEqualTo(2L);
+      assertThat(smallInt.getShort(0)).isEqualTo((short) 2);
+      assertThat(smallInt.getInt(0)).isEqualTo(2);
+
+      assertThat(integer.getDouble(0)).isEqualTo(3.0);
+      assertThat(integer.getByte(0)).isEqualTo((byte) 3);
+      assertThat(integer.getFloat(0)).isEqualTo(3.0f);
+      assertThat(integer.getShort(0)).isEqualTo((short) 3);
+      assertThat(integer.getLong(0)).isEqualTo(3L);
+      assertThat(integer.getInt(0)).isEqualTo(3);
+
+      assertThat(bigInt.getInt(0)).isEqualTo(4);
+      assertThat(bigInt.getFloat(0)).isEqualTo(4.0f);
+      assertThat(bigInt.getShort(0)).isEqualTo((short) 4);
+      assertThat(bigInt.getDouble(0)).isEqualTo(4.0);
+      assertThat(bigInt.getByte(0)).isEqualTo((byte) 4);
+      assertThat(bigInt.getLong(0)).isEqualTo(4L);
+
+      assertThat(float4.getDouble(0)).isEqualTo(5.0);
+      assertThat(float4.getByte(0)).isEqualTo((byte) 5);
+      assertThat(float4.getLong(0)).isEqualTo(5L);
+      assertThat(float4.getShort(0)).isEqualTo((short) 5);
+      assertThat(float4.getInt(0)).isEqualTo(5);
+      assertThat(float4.getFloat(0)).isEqualTo(5.0f);
+
+      assertThat(float8.getFloat(0)).isEqualTo(6.0f);
+      assertThat(float8.getInt(0)).isEqualTo(6);
+      assertThat(float8.getByte(0)).isEqualTo((byte) 6);
+      assertThat(float8.getLong(0)).isEqualTo(6L);
+      assertThat(float8.getShort(0)).isEqualTo((short) 6);
+      assertThat(float8.getDouble(0)).isEqualTo(6.0);
+    }
+  }
+
+  @Test
+  public void test_getters_on_INTEGER_readTypeOnce() throws InvalidAccessException {
+    final AtomicInteger getTypeCalls = new AtomicInteger();
+    final SqlAccessor uut =
+        new TypeConvertingSqlAccessor(
+            new IntegerStubAccessor(7) {
+              @Override
+              public MajorType getType() {
+                getTypeCalls.incrementAndGet();
+                return super.getType();
+              }
+            });
+    assertThat(getTypeCalls.get()).isEqualTo(1);
+
+    assertThat(uut.getByte(0)).isEqualTo((byte) 7);
+    assertThat(uut.getShort(0)).isEqualTo((short) 7);
+    assertThat(uut.getInt(0)).isEqualTo(7);
+    assertThat(uut.getLong(0)).isEqualTo(7L);
+    assertThat(uut.getFloat(0)).isEqualTo(7.0f);
+    assertThat(uut.getDouble(0)).isEqualTo(7.0);
+    assertThat(getTypeCalls.get()).isEqualTo(1);
+  }
+
   ////////////////////////////////////////
   // - getBigDecimal:
   //   - TINYINT, SMALLINT, INTEGER, BIGINT; REAL, FLOAT, DOUBLE; DECIMAL, NUMERIC;
@@ -114,6 +114,9 @@ public class DremioConfig extends NestedConfig {
   public static final String PARTITION_STATS_CACHE_TTL =
       "dremio.partition.stats.cache.timeout_seconds";
 
+  public static final String PARTITION_STATS_CACHE_MAX_BYTES =
+      "dremio.partition.stats.cache.max_bytes";
+
   /** Config values related to statistics caching */
   public static final String STATISTICS_CACHE_TIMEOUT_MINUTES =
       "dremio.statistics.cache.timeout_minutes";
@@ -1199,7 +1199,9 @@ public class DACDaemonModule implements DACModule {
 
       registry.bind(RuleBasedEngineSelector.class, RuleBasedEngineSelector.NO_OP);
       registry.bind(
-          PartitionStatsCacheStoreProvider.class, new PartitionStatsCacheInMemoryStoreProvider());
+          PartitionStatsCacheStoreProvider.class,
+          new PartitionStatsCacheInMemoryStoreProvider(
+              config.getBytes(DremioConfig.PARTITION_STATS_CACHE_MAX_BYTES)));
 
       final ForemenWorkManager foremenWorkManager =
           new ForemenWorkManager(
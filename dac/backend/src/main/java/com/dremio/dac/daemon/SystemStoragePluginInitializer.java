@@ -282,7 +282,8 @@ public class SystemStoragePluginInitializer implements Initializer<Void> {
             metadataPathConfig.getDataCredentials()),
         deferred);
 
-    if (sabotContext.getOptionManager().getOption(ExecConstants.ENABLE_GANDIVA_PERSISTENT_CACHE)) {
+    if (sabotContext.getOptionManager().getOption(ExecConstants.ENABLE_GANDIVA_PERSISTENT_CACHE)
+        || sabotContext.getOptionManager().getOption(ExecConstants.ENABLE_JAVA_PERSISTENT_CACHE)) {
       final boolean enableAsyncForGandivaCache =
           enable(config, DremioConfig.DEBUG_GANDIVA_CACHE_ASYNC_ENABLED);
       createSafe(
@@ -251,11 +251,14 @@ public abstract class DataplanePlugin extends FileSystemPlugin<AbstractDataplane
 
     OptionManager optionManager = context.getOptionManager();
     this.tableLoadingCache =
-        cacheProvider.get(optionManager, new TableCacheLoader(), nessieDataplaneCacheStoreProvider);
+        cacheProvider.get(
+            optionManager, name, new TableCacheLoader(), nessieDataplaneCacheStoreProvider);
     this.viewLoadingCache =
-        cacheProvider.get(optionManager, new ViewCacheLoader(), nessieDataplaneCacheStoreProvider);
+        cacheProvider.get(
+            optionManager, name, new ViewCacheLoader(), nessieDataplaneCacheStoreProvider);
     this.udfLoadingCache =
-        cacheProvider.get(optionManager, new UdfCacheLoader(), nessieDataplaneCacheStoreProvider);
+        cacheProvider.get(
+            optionManager, name, new UdfCacheLoader(), nessieDataplaneCacheStoreProvider);
   }
 
   @Override
@@ -25,14 +25,17 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.nio.ByteOrder;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.vector.BaseFixedWidthVector;
 import org.apache.arrow.vector.BaseVariableWidthVector;
 import org.apache.arrow.vector.BigIntVector;
 import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.BitVectorHelper;
 import org.apache.arrow.vector.DateMilliVector;
 import org.apache.arrow.vector.DecimalVector;
 import org.apache.arrow.vector.FieldVector;
@@ -127,6 +130,56 @@ public class HiveORCCopiers {
     }
   }
 
+  /**
+   * Copies a run of non-null values from a long[] straight into the data buffer of the output
+   * vector with a single bulk copy, then marks the run as valid.
+   */
+  @VisibleForTesting
+  static void bulkCopy8ByteValues(
+      long[] input, int inputIdx, int count, BaseFixedWidthVector output, int outputIdx) {
+    output
+        .getDataBuffer()
+        .nioBuffer((long) outputIdx << 3, count << 3)
+        .order(ByteOrder.LITTLE_ENDIAN)
+        .asLongBuffer()
+        .put(input, inputIdx, count);
+    setValidityRange(output.getValidityBuffer(), outputIdx, count);
+  }
+
+  /**
+   * Copies a run of non-null values from a double[] straight into the data buffer of the output
+   * vector with a single bulk copy, then marks the run as valid.
+   */
+  @VisibleForTesting
+  static void bulkCopy8ByteValues(
+      double[] input, int inputIdx, int count, BaseFixedWidthVector output, int outputIdx) {
+    output
+        .getDataBuffer()
+        .nioBuffer((long) outputIdx << 3, count << 3)
+        .order(ByteOrder.LITTLE_ENDIAN)
+        .asDoubleBuffer()
+        .put(input, inputIdx, count);
+    setValidityRange(output.getValidityBuffer(), outputIdx, count);
+  }
+
+  /** Sets the validity bits of the given range, a byte at a time where the range allows it. */
+  @VisibleForTesting
+  static void setValidityRange(ArrowBuf validityBuffer, int start, int count) {
+    final int end = start + count;
+    int index = start;
+    while (index < end && (index & 7) != 0) {
+      BitVectorHelper.setBit(validityBuffer, index++);
+    }
+    final int fullBytes = (end - index) >>> 3;
+    if (fullBytes > 0) {
+      validityBuffer.setOne(index >>> 3, fullBytes);
+      index += fullBytes << 3;
+    }
+    while (index < end) {
+      BitVectorHelper.setBit(validityBuffer, index++);
+    }
+  }
+
   /**
    * Helper method to create {@link ORCCopier}s based on given input, output vector types and
    * projected column ordinals.
@@ -669,9 +722,7 @@ public class HiveORCCopiers {
           outputVector.set(outputIdx, value);
         }
       } else if (inputVector.noNulls) {
-        for (int i = 0; i < count; i++, inputIdx++, outputIdx++) {
-          outputVector.set(outputIdx, input[inputIdx]);
-        }
+        bulkCopy8ByteValues(input, inputIdx, count, outputVector, outputIdx);
       } else {
         final boolean[] isNull = inputVector.isNull;
         for (int i = 0; i < count; i++, inputIdx++, outputIdx++) {
@@ -1394,9 +1445,7 @@ public class HiveORCCopiers {
           outputVector.set(outputIdx, value);
         }
       } else if (inputVector.noNulls) {
-        for (int i = 0; i < count; i++, inputIdx++, outputIdx++) {
-          outputVector.set(outputIdx, input[inputIdx]);
-        }
+        bulkCopy8ByteValues(input, inputIdx, count, outputVector, outputIdx);
       } else {
         final boolean[] isNull = inputVector.isNull;
         for (int i = 0; i < count; i++, inputIdx++, outputIdx++) {
@@ -29,6 +29,7 @@ import com.dremio.hive.proto.HiveReaderProto.HiveTableXattr;
 import com.dremio.sabot.exec.context.OperatorContext;
 import com.dremio.sabot.op.scan.ScanOperator;
 import com.dremio.sabot.op.scan.ScanOperator.Metric;
+import com.google.common.base.Stopwatch;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -37,6 +38,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.apache.arrow.vector.ValueVector;
@@ -100,6 +102,8 @@ public class HiveORCVectorizedReader extends HiveAbstractReader {
 
   // non-zero value indicates partially read batch in previous iteration.
   private int offset;
+  private final Stopwatch readWatch = Stopwatch.createUnstarted();
+  private final Stopwatch copyWatch = Stopwatch.createUnstarted();
 
   @Override
   protected void logDebugMessages() {
@@ -527,7 +531,7 @@ public class HiveORCVectorizedReader extends HiveAbstractReader {
         offset += toRead;
       }
 
-      while (outputIdx < numRowsPerBatch && hiveOrcReader.nextBatch(hiveBatch)) {
+      while (outputIdx < numRowsPerBatch && nextBatch()) {
         offset = 0;
         int toRead = Math.min(hiveBatch.size, numRowsPerBatch - outputIdx);
         copy(offset, toRead, outputIdx);
@@ -546,9 +550,23 @@ public class HiveORCVectorizedReader extends HiveAbstractReader {
     return HiveFileFormat.Orc;
   }
 
+  private boolean nextBatch() throws IOException {
+    readWatch.start();
+    try {
+      return hiveOrcReader.nextBatch(hiveBatch);
+    } finally {
+      readWatch.stop();
+    }
+  }
+
   private void copy(final int inputIdx, final int count, final int outputIdx) {
-    for (ORCCopier copier : copiers) {
-      copier.copy(inputIdx, count, outputIdx);
+    copyWatch.start();
+    try {
+      for (ORCCopier copier : copiers) {
+        copier.copy(inputIdx, count, outputIdx);
+      }
+    } finally {
+      copyWatch.stop();
     }
   }
 
@@ -730,6 +748,15 @@ public class HiveORCVectorizedReader extends HiveAbstractReader {
       dataReader = null;
     }
 
+    context
+        .getStats()
+        .addLongStat(ScanOperator.Metric.ORC_READ_NS, readWatch.elapsed(TimeUnit.NANOSECONDS));
+    context
+        .getStats()
+        .addLongStat(ScanOperator.Metric.COPY_NS, copyWatch.elapsed(TimeUnit.NANOSECONDS));
+    readWatch.reset();
+    copyWatch.reset();
+
     super.close();
   }
 }
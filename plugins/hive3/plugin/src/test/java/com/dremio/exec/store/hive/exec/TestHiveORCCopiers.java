@@ -0,0 +1,205 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.store.hive.exec;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.dremio.test.AllocatorRule;
+import com.dremio.test.DremioTest;
+import java.util.Collections;
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVectorHelper;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.ValueVector;
+import org.apache.hadoop.hive.ql.exec.vector.ColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.DoubleColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.LongColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.VectorizedRowBatch;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+/** Tests for the bulk copy paths of {@link HiveORCCopiers}. */
+public class TestHiveORCCopiers extends DremioTest {
+  private static final int ROWS = 64;
+
+  @Rule public final AllocatorRule allocatorRule = AllocatorRule.defaultAllocator();
+
+  private BufferAllocator allocator;
+
+  @Before
+  public void setup() {
+    allocator = allocatorRule.newAllocator("test-hive-orc-copiers", 0, Long.MAX_VALUE);
+  }
+
+  @After
+  public void cleanup() {
+    allocator.close();
+  }
+
+  private static HiveORCCopiers.ORCCopier copier(ValueVector output, ColumnVector input) {
+    final VectorizedRowBatch batch = new VectorizedRowBatch(1, ROWS);
+    batch.cols[0] = input;
+    return HiveORCCopiers.createCopiers(
+        null,
+        Collections.singletonList(0),
+        new int[] {0},
+        new ValueVector[] {output},
+        batch,
+        true,
+        null,
+        Collections.emptyMap())[0];
+  }
+
+  @Test
+  public void testSetValidityRange() {
+    // every start and end bit alignment, including empty and single byte ranges
+    try (ArrowBuf validity = allocator.buffer(8)) {
+      for (int start = 0; start <= 24; start++) {
+        for (int count = 0; start + count <= 64; count++) {
+          validity.setZero(0, validity.capacity());
+          HiveORCCopiers.setValidityRange(validity, start, count);
+          for (int i = 0; i < 64; i++) {
+            assertEquals(
+                String.format("start %d, count %d, bit %d", start, count, i),
+                i >= start && i < start + count ? 1 : 0,
+                BitVectorHelper.get(validity, i));
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testBulkCopyLongs() {
+    final long[] input = new long[ROWS];
+    for (int i = 0; i < ROWS; i++) {
+      input[i] = Long.MIN_VALUE + i * 0x0102030405060708L;
+    }
+    // unaligned start and end in the output, offset in the input
+    try (BigIntVector output = new BigIntVector("bigint", allocator)) {
+      output.allocateNew(ROWS);
+      HiveORCCopiers.bulkCopy8ByteValues(input, 5, 19, output, 3);
+      output.setValueCount(ROWS);
+      for (int i = 0; i < ROWS; i++) {
+        if (i >= 3 && i < 22) {
+          assertEquals(input[i + 2], output.get(i));
+        } else {
+          assertTrue(output.isNull(i));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testBulkCopyDoubles() {
+    final double[] input = new double[ROWS];
+    for (int i = 0; i < ROWS; i++) {
+      input[i] = i * -1.25d;
+    }
+    input[7] = Double.NaN;
+    try (Float8Vector output = new Float8Vector("float8", allocator)) {
+      output.allocateNew(ROWS);
+      HiveORCCopiers.bulkCopy8ByteValues(input, 1, 30, output, 9);
+      output.setValueCount(ROWS);
+      for (int i = 0; i < ROWS; i++) {
+        if (i >= 9 && i < 39) {
+          assertEquals(input[i - 8], output.get(i), 0d);
+        } else {
+          assertTrue(output.isNull(i));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testBigIntCopierWithoutNulls() {
+    final LongColumnVector input = new LongColumnVector(ROWS);
+    for (int i = 0; i < ROWS; i++) {
+      input.vector[i] = i * 31L;
+    }
+    input.noNulls = true;
+    try (BigIntVector output = new BigIntVector("bigint", allocator)) {
+      output.allocateNew(ROWS);
+      final HiveORCCopiers.ORCCopier copier = copier(output, input);
+      // two consecutive copies into unaligned output positions
+      copier.copy(0, 13, 0);
+      copier.copy(13, ROWS - 13, 13);
+      assertEquals(0, output.getNullCount());
+      for (int i = 0; i < ROWS; i++) {
+        assertEquals(i * 31L, output.get(i));
+      }
+    }
+  }
+
+  @Test
+  public void testBigIntCopierWithNulls() {
+    final LongColumnVector input = new LongColumnVector(ROWS);
+    input.noNulls = false;
+    for (int i = 0; i < ROWS; i++) {
+      input.vector[i] = i;
+      input.isNull[i] = i % 3 == 0;
+    }
+    try (BigIntVector output = new BigIntVector("bigint", allocator)) {
+      output.allocateNew(ROWS);
+      copier(output, input).copy(0, ROWS, 0);
+      for (int i = 0; i < ROWS; i++) {
+        assertEquals(i % 3 == 0, output.isNull(i));
+        if (i % 3 != 0) {
+          assertEquals(i, output.get(i));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testFloat8CopierAllNulls() {
+    final DoubleColumnVector input = new DoubleColumnVector(ROWS);
+    input.noNulls = false;
+    for (int i = 0; i < ROWS; i++) {
+      input.vector[i] = i;
+      input.isNull[i] = true;
+    }
+    try (Float8Vector output = new Float8Vector("float8", allocator)) {
+      output.allocateNew(ROWS);
+      copier(output, input).copy(0, ROWS, 0);
+      assertEquals(ROWS, output.getNullCount());
+    }
+  }
+
+  @Test
+  public void testFloat8CopierWithoutNulls() {
+    final DoubleColumnVector input = new DoubleColumnVector(ROWS);
+    for (int i = 0; i < ROWS; i++) {
+      input.vector[i] = i / 4d;
+    }
+    input.noNulls = true;
+    try (Float8Vector output = new Float8Vector("float8", allocator)) {
+      output.allocateNew(ROWS);
+      copier(output, input).copy(3, ROWS - 3, 1);
+      assertTrue(output.isNull(0));
+      for (int i = 1; i < ROWS - 2; i++) {
+        assertFalse(output.isNull(i));
+        assertEquals((i + 2) / 4d, output.get(i), 0d);
+      }
+    }
+  }
+}
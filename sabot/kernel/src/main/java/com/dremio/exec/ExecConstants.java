@@ -569,6 +569,13 @@ public interface ExecConstants {
   DoubleValidator ASSIGNMENT_CREATOR_BALANCE_FACTOR =
       new DoubleValidator("exec.work.assignment.locality_factor", 1.5);
 
+  /**
+   * If set, the load limit a slice may reach to maintain locality is relative to the average load
+   * per slice (or the largest unit of work), so that a few very large splits are spread out.
+   */
+  BooleanValidator ASSIGNMENT_CREATOR_BALANCE_BY_AVERAGE =
+      new BooleanValidator("exec.work.assignment.balance_by_average", false);
+
   PositiveLongValidator FRAGMENT_CACHE_EVICTION_DELAY_S =
       new PositiveLongValidator("fragments.cache.eviction.delay_seconds", Integer.MAX_VALUE, 600);
 
@@ -891,6 +898,10 @@ public interface ExecConstants {
       new BooleanValidator("exec.storage.enable_arrow_filtering_reader", true);
   BooleanValidator ENABLE_BOOST_DELTA_READER =
       new BooleanValidator("exec.storage.enable_arrow_delta_reader", true);
+  // Memory map Arrow format files on local file systems instead of copying batches from a stream.
+  // Loaded vectors point into a private copy-on-write mapping, writes never reach the file.
+  BooleanValidator ARROW_FILE_MMAP_ENABLED =
+      new BooleanValidator("store.arrow.mmap.enabled", false);
 
   // hive parallelism and timeout options for signature validation process
   LongValidator HIVE_SIGNATURE_VALIDATION_PARALLELISM =
@@ -1094,6 +1105,21 @@ public interface ExecConstants {
   BooleanValidator ENABLE_GANDIVA_PERSISTENT_CACHE =
       new BooleanValidator("exec.gandiva.enable_persistent_cache", false);
 
+  // Shares compiled Java bytecode across restarts and executors through the persistent code cache.
+  BooleanValidator ENABLE_JAVA_PERSISTENT_CACHE =
+      new BooleanValidator("exec.java_compiler.enable_persistent_cache", false);
+
+  // Total size of the compiled classes this executor keeps in the persistent code cache. Least
+  // recently used entries are deleted beyond it.
+  PositiveLongValidator JAVA_PERSISTENT_CACHE_MAX_BYTES =
+      new PositiveLongValidator(
+          "exec.java_compiler.persistent_cache.max_bytes", Long.MAX_VALUE, 1L << 30);
+
+  // Compiles the Java code of expression splits in the background and waits for it before the
+  // first batch, so compilation overlaps the rest of the operator setup and the upstream work.
+  BooleanValidator ENABLE_JAVA_ASYNC_COMPILE =
+      new BooleanValidator("exec.java_compiler.enable_async", false);
+
   DoubleValidator EXPR_COMPLEXITY_NO_CACHE_THRESHOLD =
       new DoubleValidator("exec.expression.complexity.no_cache.threshold", 100.00);
 
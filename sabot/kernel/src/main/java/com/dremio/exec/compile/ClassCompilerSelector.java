@@ -99,6 +99,19 @@ public class ClassCompilerSelector {
 
   public ClassBytes[] getClassByteCode(ClassNames className, String sourceCode)
       throws CompileException, ClassNotFoundException, ClassTransformationException, IOException {
+    return selectCompiler(sourceCode).getClassByteCode(className, sourceCode, isDebug());
+  }
+
+  /**
+   * Describes the compiler and settings {@link #getClassByteCode} would use for the given source,
+   * so that bytecode produced under different settings is never shared.
+   */
+  String getCompilerFingerprint(String sourceCode) {
+    final String compiler = selectCompiler(sourceCode) == jdkClassCompiler ? "jdk" : "janino";
+    return compiler + (isDebug() ? "-debug" : "");
+  }
+
+  private ClassCompiler selectCompiler(String sourceCode) {
     OptionValue value = sessionOptions.getOption(JAVA_COMPILER_OPTION);
     CompilerPolicy policy =
         (value != null)
@@ -108,18 +121,16 @@ public class ClassCompilerSelector {
     value = sessionOptions.getOption(JAVA_COMPILER_JANINO_MAXSIZE_OPTION);
     long janinoThreshold = (value != null) ? value.getNumVal() : defaultJaninoThreshold;
 
-    value = sessionOptions.getOption(JAVA_COMPILER_DEBUG_OPTION);
-    boolean debug = (value != null) ? value.getBoolVal() : defaultDebug;
-
-    ClassCompiler classCompiler;
     if (jdkClassCompiler != null
         && (policy == CompilerPolicy.JDK
             || (policy == CompilerPolicy.DEFAULT && sourceCode.length() > janinoThreshold))) {
-      classCompiler = jdkClassCompiler;
-    } else {
-      classCompiler = janinoClassCompiler;
+      return jdkClassCompiler;
     }
+    return janinoClassCompiler;
+  }
 
-    return classCompiler.getClassByteCode(className, sourceCode, debug);
+  private boolean isDebug() {
+    OptionValue value = sessionOptions.getOption(JAVA_COMPILER_DEBUG_OPTION);
+    return (value != null) ? value.getBoolVal() : defaultDebug;
   }
 }
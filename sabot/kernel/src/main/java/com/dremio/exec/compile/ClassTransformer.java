@@ -172,49 +172,73 @@ public class ClassTransformer {
       final String entireClass,
       final String materializedClassName)
       throws ClassTransformationException {
-    return getExtendedImplementationClass(
-        classLoader, templateDefinition, entireClass, materializedClassName);
+    final long t1 = System.nanoTime();
+    final ClassBytes[] implementationClasses =
+        getClassByteCode(classLoader, templateDefinition, entireClass, materializedClassName);
+    final Class<?> c =
+        loadImplementationClass(
+            classLoader, templateDefinition, materializedClassName, implementationClasses);
+    if (logger.isDebugEnabled()) {
+      long totalBytecodeSize = 0;
+      for (ClassBytes clazz : implementationClasses) {
+        totalBytecodeSize += clazz.getBytes().length;
+      }
+      logger.debug(
+          "Done compiling (bytecode size={}, time:{} millis).",
+          DremioStringUtils.readable(totalBytecodeSize),
+          (System.nanoTime() - t1) / 1000000);
+    }
+    return c;
   }
 
-  private Class<?> getExtendedImplementationClass(
+  /**
+   * Compiles the generated source without loading it.
+   *
+   * @return the bytecode of the generated class followed by its inner classes
+   */
+  public ClassBytes[] getClassByteCode(
       final QueryClassLoader classLoader,
       final TemplateClassDefinition<?> templateDefinition,
       final String entireClass,
       final String materializedClassName)
       throws ClassTransformationException {
-
     try {
-      final long t1 = System.nanoTime();
       final ClassSet set =
           new ClassSet(null, templateDefinition.getTemplateClassName(), materializedClassName);
-      final ClassBytes[] implementationClasses =
-          classLoader.getClassByteCode(set.generated, entireClass);
+      return classLoader.getClassByteCode(set.generated, entireClass);
+    } catch (CompileException | IOException | ClassNotFoundException e) {
+      if (optionManager.getOption(ExecConstants.JAVA_CODE_DUMP)) {
+        logger.info(
+            String.format(
+                "Failure generating transformation classes for value: \n %s", entireClass));
+      }
+      throw new ClassTransformationException("Failure generating transformation classes.", e);
+    }
+  }
 
-      long totalBytecodeSize = 0;
+  /**
+   * Defines previously compiled classes in the given loader and returns the one named {@code
+   * className}, which may differ from the name the current code generator would have chosen.
+   */
+  public Class<?> loadImplementationClass(
+      final QueryClassLoader classLoader,
+      final TemplateClassDefinition<?> templateDefinition,
+      final String className,
+      final ClassBytes[] implementationClasses)
+      throws ClassTransformationException {
+    try {
       for (ClassBytes clazz : implementationClasses) {
-        totalBytecodeSize += clazz.getBytes().length;
         classLoader.injectByteCode(clazz.getName(), clazz.getBytes());
       }
 
-      Class<?> c = classLoader.findClass(set.generated.dot);
+      Class<?> c = classLoader.findClass(className);
       if (templateDefinition.getExternalInterface().isAssignableFrom(c)) {
-        if (logger.isDebugEnabled()) {
-          logger.debug(
-              "Done compiling (bytecode size={}, time:{} millis).",
-              DremioStringUtils.readable(totalBytecodeSize),
-              (System.nanoTime() - t1) / 1000000);
-        }
         return c;
       }
 
       throw new ClassTransformationException(
           "The requested class did not implement the expected interface.");
-    } catch (CompileException | IOException | ClassNotFoundException e) {
-      if (optionManager.getOption(ExecConstants.JAVA_CODE_DUMP)) {
-        logger.info(
-            String.format(
-                "Failure generating transformation classes for value: \n %s", entireClass));
-      }
+    } catch (IOException | ClassNotFoundException e) {
       throw new ClassTransformationException("Failure generating transformation classes.", e);
     }
   }
@@ -23,6 +23,7 @@ import com.dremio.exec.expr.CodeGenerator;
 import com.dremio.exec.expr.ExpressionEvalInfo;
 import com.dremio.options.OptionManager;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
@@ -33,7 +34,13 @@ import java.lang.reflect.InvocationTargetException;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 public class CodeCompiler {
@@ -42,15 +49,26 @@ public class CodeCompiler {
 
   private final ClassTransformer transformer;
   private final ClassCompilerSelector selector;
+  private final OptionManager optionManager;
   private final LoadingCache<CodeGenerator.CodeDefinition<?>, GeneratedClassEntry>
       generatedCodeToCompiledClazzCache;
   private final LoadingCache<ExpressionsHolder, GeneratedClassEntryWithFunctionErrorContextSizeInfo>
       expressionsToCompiledClazzCache;
+  // background compilations in flight, keyed like the caches they populate, so that concurrent
+  // requests for the same class share one compilation
+  private final ConcurrentMap<
+          CodeGenerator.CodeDefinition<?>, CompletableFuture<GeneratedClassEntry>>
+      pendingGeneratedCodeCompilations = new ConcurrentHashMap<>();
+  private final ConcurrentMap<
+          ExpressionsHolder,
+          CompletableFuture<GeneratedClassEntryWithFunctionErrorContextSizeInfo>>
+      pendingExpressionsCompilations = new ConcurrentHashMap<>();
 
   @SuppressWarnings("NoGuavaCacheUsage") // TODO: fix as part of DX-51884
   public CodeCompiler(final SabotConfig config, final OptionManager optionManager) {
     transformer = new ClassTransformer(optionManager);
     selector = new ClassCompilerSelector(config, optionManager);
+    this.optionManager = optionManager;
     final int cacheMaxSize = config.getInt(ExecConstants.MAX_LOADING_CACHE_SIZE_CONFIG);
     generatedCodeToCompiledClazzCache =
         CacheBuilder.newBuilder()
@@ -119,6 +137,133 @@ public class CodeCompiler {
     }
   }
 
+  /**
+   * Like {@link #getImplementationClass(CodeGenerator)}, but compiles on the given executor when
+   * the class is not cached yet. Code generation mutates the generator and the function context it
+   * shares with the rest of the operator, so it still runs on the calling thread; only the
+   * self-contained compilation and class loading are handed off.
+   */
+  @SuppressWarnings("unchecked")
+  public <T> CompletableFuture<T> getImplementationClassAsync(
+      final CodeGenerator<?> cg, final Executor executor) {
+    try {
+      final ClassGenerator<?> rootGenerator = cg.getRoot();
+      if (rootGenerator.getExpressionEvalInfos().size() > 0) {
+        if (rootGenerator.doesLazyExpsContainComplexWriterFunctionHolder()) {
+          rootGenerator.evaluateAllLazyExps();
+        } else {
+          return getImplementationClassFromExpToCompiledClazzCacheAsync(cg, executor);
+        }
+      }
+      cg.generate();
+      final CodeGenerator.CodeDefinition<?> cgd = cg.getCodeDefinition();
+      final GeneratedClassEntry cached = generatedCodeToCompiledClazzCache.getIfPresent(cgd);
+      if (cached != null) {
+        return CompletableFuture.completedFuture((T) getInstances(1, cached).get(0));
+      }
+      return compileOnce(
+              pendingGeneratedCodeCompilations,
+              generatedCodeToCompiledClazzCache,
+              cgd,
+              () -> compileAsync(cgd, executor).thenApply(GeneratedClassEntry::new))
+          .thenApply(ce -> (T) newInstance(ce));
+    } catch (InstantiationException
+        | IllegalAccessException
+        | IOException
+        | NoSuchMethodException
+        | InvocationTargetException e) {
+      throw new ClassTransformationException(e);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> CompletableFuture<T> getImplementationClassFromExpToCompiledClazzCacheAsync(
+      final CodeGenerator<?> cg, final Executor executor)
+      throws InstantiationException,
+          IllegalAccessException,
+          IOException,
+          NoSuchMethodException,
+          InvocationTargetException {
+    final ExpressionsHolder expressionsHolder = new ExpressionsHolder(cg);
+    // the holder only needs the generator while loading, which happens below rather than in the
+    // cache loader
+    expressionsHolder.cg = null;
+    final ClassGenerator<?> rootGenerator = cg.getRoot();
+    final GeneratedClassEntryWithFunctionErrorContextSizeInfo cached =
+        expressionsToCompiledClazzCache.getIfPresent(expressionsHolder);
+    if (cached != null) {
+      rootGenerator.registerFunctionErrorContext(cached.functionErrorContextsCount);
+      return CompletableFuture.completedFuture(
+          (T) getInstances(1, cached.generatedClassEntry).get(0));
+    }
+
+    // same accounting as ExpressionsToCompiledClazzCacheLoader
+    final int currentCount = rootGenerator.getFunctionErrorContextsCount();
+    rootGenerator.evaluateAllLazyExps();
+    final int functionErrorContextsCount =
+        rootGenerator.getFunctionErrorContextsCount() - currentCount;
+    cg.generate();
+    final CodeGenerator.CodeDefinition<?> cgd = cg.getCodeDefinition();
+    return compileOnce(
+            pendingExpressionsCompilations,
+            expressionsToCompiledClazzCache,
+            expressionsHolder,
+            () ->
+                compileAsync(cgd, executor)
+                    .thenApply(
+                        c ->
+                            new GeneratedClassEntryWithFunctionErrorContextSizeInfo(
+                                c, functionErrorContextsCount)))
+        .thenApply(ce -> (T) newInstance(ce.generatedClassEntry));
+  }
+
+  /**
+   * Returns the in flight compilation of the given key, starting it if there is none. The result
+   * is added to the cache before the compilation is forgotten, so later requests find it there.
+   */
+  private static <K, V> CompletableFuture<V> compileOnce(
+      ConcurrentMap<K, CompletableFuture<V>> pending,
+      Cache<K, V> cache,
+      K key,
+      Supplier<CompletableFuture<V>> compilation) {
+    final CompletableFuture<V> future =
+        pending.computeIfAbsent(
+            key,
+            k -> {
+              // the compilation may have completed since the caller checked the cache
+              final V cached = cache.getIfPresent(k);
+              if (cached != null) {
+                return CompletableFuture.completedFuture(cached);
+              }
+              return compilation
+                  .get()
+                  .thenApply(
+                      v -> {
+                        cache.put(k, v);
+                        return v;
+                      });
+            });
+    future.whenComplete((v, t) -> pending.remove(key, future));
+    return future;
+  }
+
+  private CompletableFuture<Class<?>> compileAsync(
+      final CodeGenerator.CodeDefinition<?> cgd, final Executor executor) {
+    return CompletableFuture.supplyAsync(
+        () -> compile(new QueryClassLoader(selector), cgd), executor);
+  }
+
+  private static Object newInstance(GeneratedClassEntry ce) {
+    try {
+      return ce.clazz.getDeclaredConstructor().newInstance();
+    } catch (InstantiationException
+        | IllegalAccessException
+        | NoSuchMethodException
+        | InvocationTargetException e) {
+      throw new CompletionException(new ClassTransformationException(e));
+    }
+  }
+
   private <T> List<T> getInstances(int instanceNumber, GeneratedClassEntry ce)
       throws InstantiationException,
           IllegalAccessException,
@@ -136,6 +281,45 @@ public class CodeCompiler {
     this.expressionsToCompiledClazzCache.invalidateAll();
   }
 
+  /**
+   * Compiles the generated code, going through the persistent class cache when it is enabled so
+   * classes compiled before a restart or on another executor are reused.
+   */
+  private Class<?> compile(QueryClassLoader loader, CodeGenerator.CodeDefinition<?> cgd)
+      throws ClassTransformationException {
+    final PersistentClassCache persistentCache = PersistentClassCache.getInstance();
+    if (persistentCache == null
+        || !optionManager.getOption(ExecConstants.ENABLE_JAVA_PERSISTENT_CACHE)) {
+      return transformer.getImplementationClass(
+          loader, cgd.getDefinition(), cgd.getGeneratedCode(), cgd.getMaterializedClassName());
+    }
+
+    final String key =
+        PersistentClassCache.key(
+            cgd.getDefinition().getTemplateClassName(),
+            selector.getCompilerFingerprint(cgd.getGeneratedCode()),
+            cgd.getGenerifiedCode());
+    final PersistentClassCache.Entry cached = persistentCache.get(key);
+    if (cached != null) {
+      logger.debug("Loaded compiled class {} from persistent cache", cached.getClassName());
+      cgd.recordCompileNanosSaved(cached.getCompileNanos());
+      return transformer.loadImplementationClass(
+          loader, cgd.getDefinition(), cached.getClassName(), cached.getClasses());
+    }
+
+    final long start = System.nanoTime();
+    final ClassBytes[] classes =
+        transformer.getClassByteCode(
+            loader, cgd.getDefinition(), cgd.getGeneratedCode(), cgd.getMaterializedClassName());
+    final long compileNanos = System.nanoTime() - start;
+    final Class<?> c =
+        transformer.loadImplementationClass(
+            loader, cgd.getDefinition(), cgd.getMaterializedClassName(), classes);
+    persistentCache.put(
+        key, new PersistentClassCache.Entry(cgd.getMaterializedClassName(), classes, compileNanos));
+    return c;
+  }
+
   private class ExpressionsToCompiledClazzCacheLoader
       extends CacheLoader<ExpressionsHolder, GeneratedClassEntryWithFunctionErrorContextSizeInfo> {
     @Override
@@ -151,9 +335,7 @@ public class CodeCompiler {
       cg.getRoot().evaluateAllLazyExps();
       cg.generate();
       final CodeGenerator.CodeDefinition<?> cgd = cg.getCodeDefinition();
-      final Class<?> c =
-          transformer.getImplementationClass(
-              loader, cgd.getDefinition(), cgd.getGeneratedCode(), cgd.getMaterializedClassName());
+      final Class<?> c = compile(loader, cgd);
       final GeneratedClassEntryWithFunctionErrorContextSizeInfo ce =
           new GeneratedClassEntryWithFunctionErrorContextSizeInfo(
               c, rootGenerator.getFunctionErrorContextsCount() - currentCount);
@@ -168,9 +350,7 @@ public class CodeCompiler {
     public GeneratedClassEntry load(final CodeGenerator.CodeDefinition<?> cgd) throws Exception {
       logger.debug("In Cache load; Compile code");
       final QueryClassLoader loader = new QueryClassLoader(selector);
-      final Class<?> c =
-          transformer.getImplementationClass(
-              loader, cgd.getDefinition(), cgd.getGeneratedCode(), cgd.getMaterializedClassName());
+      final Class<?> c = compile(loader, cgd);
       logger.debug("Exit Cache load");
       return new GeneratedClassEntry(c);
     }
@@ -0,0 +1,353 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.compile;
+
+import static org.apache.commons.codec.digest.DigestUtils.sha256Hex;
+
+import com.dremio.common.concurrent.CloseableThreadPool;
+import com.dremio.common.util.DremioVersionInfo;
+import com.dremio.io.FSInputStream;
+import com.dremio.io.FSOutputStream;
+import com.dremio.io.file.FileAttributes;
+import com.dremio.io.file.FileSystem;
+import com.dremio.io.file.Path;
+import com.google.common.annotations.VisibleForTesting;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Content addressed store of compiled generated classes, kept on the file system backing the
+ * persistent code cache so that restarted or newly added executors can skip compiling code that
+ * was already compiled elsewhere. Entries are keyed by a hash of the template, the compiler
+ * settings and the generated source, under a directory per Dremio version and per node.
+ *
+ * <p>Lookups never probe the file system for unknown keys. Each executor keeps an index of the
+ * entries stored by all nodes, built from a listing that is refreshed in the background at most
+ * every five minutes, and only reads entries found in it. Each executor only evicts entries from
+ * its own directory: they are kept in access order and the least recently used ones are deleted
+ * once their total size exceeds the configured maximum.
+ */
+public class PersistentClassCache implements AutoCloseable {
+  private static final org.slf4j.Logger logger =
+      org.slf4j.LoggerFactory.getLogger(PersistentClassCache.class);
+
+  private static final long REFRESH_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(5);
+  private static final String TMP_SUFFIX = ".tmp";
+
+  private static volatile PersistentClassCache instance;
+
+  private final FileSystem fs;
+  private final Path versionPath;
+  private final Path nodePath;
+  private final LongSupplier maxBytes;
+  private final CloseableThreadPool pool;
+
+  // entry name to its location in any node directory, guarded by itself
+  private final Map<String, Path> entries = new HashMap<>();
+  // entries of this node to their size, in access order; guarded by entries
+  private final LinkedHashMap<String, Long> ownEntries = new LinkedHashMap<>(16, 0.75f, true);
+  private long totalBytes;
+  private final AtomicLong nextRefreshMillis = new AtomicLong();
+
+  @VisibleForTesting
+  PersistentClassCache(FileSystem fs, Path path, String nodeName, LongSupplier maxBytes) {
+    this.fs = fs;
+    this.versionPath = Path.mergePaths(path, Path.of(DremioVersionInfo.getVersion()));
+    this.nodePath = versionPath.resolve(nodeName.replaceAll("[^A-Za-z0-9._-]", "_"));
+    this.maxBytes = maxBytes;
+    pool = CloseableThreadPool.newSingleThreadExecutor("java-class-cache-writer-");
+    maybeRefresh();
+  }
+
+  public static synchronized void createInstance(
+      FileSystem fs, Path path, String nodeName, LongSupplier maxBytes) {
+    if (instance == null) {
+      instance = new PersistentClassCache(fs, path, nodeName, maxBytes);
+    }
+  }
+
+  public static PersistentClassCache getInstance() {
+    return instance;
+  }
+
+  /** Closes the instance, if any. A new instance can be created afterwards. */
+  public static synchronized void closeInstance() {
+    if (instance != null) {
+      instance.close();
+      instance = null;
+    }
+  }
+
+  /**
+   * Computes the key of a generated class.
+   *
+   * @param templateClassName name of the template the generated class extends
+   * @param compilerFingerprint compiler and settings used to compile the class
+   * @param generifiedCode generated source, before the class is given its unique name
+   */
+  static String key(String templateClassName, String compilerFingerprint, String generifiedCode) {
+    return sha256Hex(templateClassName + '\n' + compilerFingerprint + '\n' + generifiedCode);
+  }
+
+  /**
+   * Reads the classes stored under the given key.
+   *
+   * @return the stored classes, or null if there is no readable entry
+   */
+  Entry get(String key) {
+    final Path p;
+    synchronized (entries) {
+      p = entries.get(key);
+      // marks the entry as recently used
+      ownEntries.get(key);
+    }
+    if (p == null) {
+      maybeRefresh();
+      return null;
+    }
+
+    try (FSInputStream stream = fs.open(p);
+        DataInputStream in = new DataInputStream(stream)) {
+      final long compileNanos = in.readLong();
+      final String className = in.readUTF();
+      final ClassBytes[] classes = new ClassBytes[in.readInt()];
+      for (int i = 0; i < classes.length; i++) {
+        final String name = in.readUTF();
+        final byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        classes[i] = new ClassBytes(name, bytes);
+      }
+      return new Entry(className, classes, compileNanos);
+    } catch (FileNotFoundException e) {
+      // evicted by the node that stored it
+      remove(key);
+      return null;
+    } catch (IOException e) {
+      logger.warn("Failed to read compiled classes from Path {}.", p, e);
+      return null;
+    }
+  }
+
+  /**
+   * Stores the classes under the given key in the background. Entries are written to a temporary
+   * file and renamed into place, so concurrent readers never observe a partial entry.
+   */
+  void put(String key, Entry entry) {
+    synchronized (entries) {
+      if (entries.containsKey(key)) {
+        return;
+      }
+    }
+    final Path p = nodePath.resolve(key);
+    final Path tmp = nodePath.resolve(key + "." + UUID.randomUUID() + TMP_SUFFIX);
+    try {
+      pool.submit(
+          () -> {
+            try {
+              final long size;
+              try (FSOutputStream stream = fs.create(tmp);
+                  DataOutputStream out = new DataOutputStream(stream)) {
+                out.writeLong(entry.compileNanos);
+                out.writeUTF(entry.className);
+                out.writeInt(entry.classes.length);
+                for (ClassBytes clazz : entry.classes) {
+                  out.writeUTF(clazz.getName());
+                  out.writeInt(clazz.getBytes().length);
+                  out.write(clazz.getBytes());
+                }
+                size = out.size();
+              }
+              if (!fs.rename(tmp, p)) {
+                // already stored before this node knew about it
+                fs.delete(tmp, false);
+              }
+              synchronized (entries) {
+                entries.put(key, p);
+                if (ownEntries.putIfAbsent(key, size) == null) {
+                  totalBytes += size;
+                }
+              }
+              evict();
+            } catch (IOException e) {
+              logger.warn("Failed to write compiled classes to Path {}.", p, e);
+            }
+          });
+    } catch (RejectedExecutionException e) {
+      // closed
+    }
+  }
+
+  private void remove(String key) {
+    synchronized (entries) {
+      entries.remove(key);
+      final Long size = ownEntries.remove(key);
+      if (size != null) {
+        totalBytes -= size;
+      }
+    }
+  }
+
+  /** Schedules a listing of the version directory unless one ran recently. */
+  private void maybeRefresh() {
+    final long now = System.currentTimeMillis();
+    final long next = nextRefreshMillis.get();
+    if (now >= next && nextRefreshMillis.compareAndSet(next, now + REFRESH_INTERVAL_MILLIS)) {
+      try {
+        pool.submit(this::refresh);
+      } catch (RejectedExecutionException e) {
+        // closed
+      }
+    }
+  }
+
+  /**
+   * Rebuilds the index from the entries on the file system, picking up entries stored by other
+   * nodes and dropping the ones they deleted. Entries of this node keep their access order.
+   */
+  @VisibleForTesting
+  void refresh() {
+    // entries stored while listing may be missing from the listing, only drop older ones
+    final Set<String> known;
+    synchronized (entries) {
+      known = new HashSet<>(entries.keySet());
+    }
+    final Map<String, Path> listed = new HashMap<>();
+    final Map<String, Long> listedOwn = new HashMap<>();
+    try (DirectoryStream<FileAttributes> nodes = fs.list(versionPath)) {
+      for (FileAttributes node : nodes) {
+        if (!node.isDirectory()) {
+          continue;
+        }
+        final boolean own = node.getPath().getName().equals(nodePath.getName());
+        try (DirectoryStream<FileAttributes> files = fs.list(node.getPath())) {
+          for (FileAttributes file : files) {
+            final String name = file.getPath().getName();
+            if (!file.isRegularFile() || name.endsWith(TMP_SUFFIX)) {
+              continue;
+            }
+            // prefer this node's copy, it is the one this node may evict
+            if (own || !listed.containsKey(name)) {
+              listed.put(name, file.getPath());
+            }
+            if (own) {
+              listedOwn.put(name, file.size());
+            }
+          }
+        }
+      }
+    } catch (FileNotFoundException e) {
+      // nothing stored yet for this version
+    } catch (IOException e) {
+      logger.warn("Failed to list compiled classes in Path {}.", versionPath, e);
+      return;
+    }
+
+    synchronized (entries) {
+      entries.keySet().removeIf(key -> known.contains(key) && !listed.containsKey(key));
+      ownEntries.keySet().removeIf(key -> known.contains(key) && !listedOwn.containsKey(key));
+      entries.putAll(listed);
+      for (Map.Entry<String, Long> e : listedOwn.entrySet()) {
+        ownEntries.putIfAbsent(e.getKey(), e.getValue());
+      }
+      totalBytes = 0;
+      for (long size : ownEntries.values()) {
+        totalBytes += size;
+      }
+    }
+    evict();
+  }
+
+  /**
+   * Deletes the least recently used entries of this node until they fit in the maximum size.
+   * Entries of other nodes are left to them, as this node doesn't know how much they are used.
+   */
+  private void evict() {
+    final long max = maxBytes.getAsLong();
+    final List<String> evicted = new ArrayList<>();
+    synchronized (entries) {
+      final Iterator<Map.Entry<String, Long>> it = ownEntries.entrySet().iterator();
+      while (totalBytes > max && it.hasNext()) {
+        final Map.Entry<String, Long> e = it.next();
+        totalBytes -= e.getValue();
+        evicted.add(e.getKey());
+        entries.remove(e.getKey());
+        it.remove();
+      }
+    }
+    for (String key : evicted) {
+      final Path p = nodePath.resolve(key);
+      try {
+        fs.delete(p, false);
+      } catch (IOException e) {
+        logger.warn("Failed to delete compiled classes at Path {}.", p, e);
+      }
+    }
+  }
+
+  @VisibleForTesting
+  long getTotalBytes() {
+    synchronized (entries) {
+      return totalBytes;
+    }
+  }
+
+  /** Stops the background writes and listings, waiting for the ones already started. */
+  @Override
+  public void close() {
+    pool.close();
+  }
+
+  /** Compiled classes of one generated class and the time it originally took to compile them. */
+  static final class Entry {
+    private final String className;
+    private final ClassBytes[] classes;
+    private final long compileNanos;
+
+    Entry(String className, ClassBytes[] classes, long compileNanos) {
+      this.className = className;
+      this.classes = classes;
+      this.compileNanos = compileNanos;
+    }
+
+    String getClassName() {
+      return className;
+    }
+
+    ClassBytes[] getClasses() {
+      return classes;
+    }
+
+    long getCompileNanos() {
+      return compileNanos;
+    }
+  }
+}
@@ -28,6 +28,8 @@ import com.sun.codemodel.JMod;
 import java.io.IOException;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.regex.Pattern;
 
 /**
@@ -54,6 +56,14 @@ public class CodeGenerator<T> {
     String getGeneratedCode();
 
     String getMaterializedClassName();
+
+    /** Generated source before the class is given its unique name. */
+    String getGenerifiedCode();
+
+    /** Records compile time avoided by loading the class from the persistent class cache. */
+    void recordCompileNanosSaved(long nanos);
+
+    long getCompileNanosSaved();
   }
 
   private static final String PACKAGE_NAME = "com.dremio.s";
@@ -170,15 +180,25 @@ public class CodeGenerator<T> {
     return compiler.getImplementationClass(this, instanceCount);
   }
 
+  public CompletableFuture<T> getImplementationClassAsync(final Executor executor) {
+    return compiler.getImplementationClassAsync(this, executor);
+  }
+
   public FunctionContext getFunctionContext() {
     return functionContext;
   }
 
+  /** Compile time avoided for this generator by loading its class from the persistent cache. */
+  public long getCompileNanosSaved() {
+    return codeDefinition.getCompileNanosSaved();
+  }
+
   private static final class DefaultCodeDefinition<T> implements CodeDefinition<T> {
     private final TemplateClassDefinition<T> definition;
     private final String className;
     private final String fqcn;
     private String generifiedCode;
+    private long compileNanosSaved;
 
     private DefaultCodeDefinition(TemplateClassDefinition<T> definition) {
       this.definition = definition;
@@ -226,5 +246,20 @@ public class CodeGenerator<T> {
     public String getMaterializedClassName() {
       return fqcn;
     }
+
+    @Override
+    public String getGenerifiedCode() {
+      return generifiedCode;
+    }
+
+    @Override
+    public void recordCompileNanosSaved(long nanos) {
+      compileNanosSaved += nanos;
+    }
+
+    @Override
+    public long getCompileNanosSaved() {
+      return compileNanosSaved;
+    }
   }
 }
@@ -222,6 +222,15 @@ public class ExpressionSplitter implements AutoCloseable {
     return splitExpressions.size() - (numExprsInGandiva + numExprsInJava);
   }
 
+  /** Compile time avoided by loading the Java splits from the persistent class cache. */
+  public long getJavaCompileNanosSaved() {
+    long nanos = 0;
+    for (SplitStageExecutor executor : execPipeline) {
+      nanos += executor.getJavaCompileNanosSaved();
+    }
+    return nanos;
+  }
+
   public ExpressionSplitCache.ExpressionSplitsHolder splitExpressionWhenCacheIsEnabled(
       NamedExpression namedExpression) throws Exception {
     ExpressionEvaluationOptions expressionEvaluationOptions =
@@ -32,10 +32,13 @@ import com.dremio.sabot.op.llvm.NativeProjectEvaluator;
 import com.dremio.sabot.op.llvm.NativeProjectorBuilder;
 import com.dremio.sabot.op.project.Projector;
 import com.google.common.base.Stopwatch;
+import com.google.common.base.Throwables;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import java.io.Closeable;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.function.Function;
 import org.apache.arrow.gandiva.exceptions.GandivaException;
 import org.apache.arrow.vector.AllocationHelper;
@@ -81,6 +84,12 @@ class SplitStageExecutor implements AutoCloseable {
   // Java evaluator
   Projector javaProjector;
 
+  // Java evaluator still being compiled in the background, set up before the first batch
+  private CompletableFuture<Projector> pendingJavaProjector;
+  private CodeGenerator<Projector> pendingCodeGenerator;
+  private VectorContainer pendingOutgoing;
+  private ExpressionEvaluationOptions pendingOptions;
+
   // Vectors for intermediate output
   final List<ValueVector> allocationVectors = Lists.newArrayList();
 
@@ -105,6 +114,9 @@ class SplitStageExecutor implements AutoCloseable {
 
   private String gandivaFunctionNames;
 
+  // compile time avoided by loading the Java classes from the persistent class cache
+  private long javaCompileNanosSaved;
+
   SplitStageExecutor(
       OperatorContext context,
       VectorAccessible incoming,
@@ -247,10 +259,26 @@ class SplitStageExecutor implements AutoCloseable {
     gandivaCodeGenWatch.stop();
 
     javaCodeGenWatch.start();
-    javaProjector = cg.getCodeGenerator().getImplementationClass();
-    // CodeGenerator is no longer required since the code has been generated
+    final CodeGenerator<Projector> codeGenerator = cg.getCodeGenerator();
+    // CodeGenerator is no longer required once the code has been generated
     // Releasing heap memory
     cg = null;
+    // contexts built without an executor, e.g. for sampling, compile in the calling thread
+    if (context.getOptions().getOption(ExecConstants.ENABLE_JAVA_ASYNC_COMPILE)
+        && context.hasExecutor()) {
+      pendingJavaProjector = codeGenerator.getImplementationClassAsync(context.getExecutor());
+      pendingCodeGenerator = codeGenerator;
+      pendingOutgoing = outgoing;
+      pendingOptions = options;
+    } else {
+      javaProjector = codeGenerator.getImplementationClass();
+      javaCompileNanosSaved += codeGenerator.getCompileNanosSaved();
+      setupJavaProjector(outgoing, options);
+    }
+    javaCodeGenWatch.stop();
+  }
+
+  private void setupJavaProjector(VectorContainer outgoing, ExpressionEvaluationOptions options) {
     javaProjector.setup(
         context.getFunctionContext(),
         incoming,
@@ -266,7 +294,28 @@ class SplitStageExecutor implements AutoCloseable {
           }
         },
         options);
-    javaCodeGenWatch.stop();
+  }
+
+  /** Waits for a Java evaluator compiled in the background and finishes setting it up. */
+  private void awaitJavaProjector(Stopwatch javaWatch) {
+    if (pendingJavaProjector == null) {
+      return;
+    }
+    javaWatch.start();
+    try {
+      javaProjector = pendingJavaProjector.join();
+    } catch (CompletionException e) {
+      Throwables.throwIfUnchecked(e.getCause());
+      throw e;
+    } finally {
+      javaWatch.stop();
+    }
+    javaCompileNanosSaved += pendingCodeGenerator.getCompileNanosSaved();
+    pendingJavaProjector = null;
+    pendingCodeGenerator = null;
+    setupJavaProjector(pendingOutgoing, pendingOptions);
+    pendingOutgoing = null;
+    pendingOptions = null;
   }
 
   // setup evaluation of projector for all splits
@@ -342,11 +391,16 @@ class SplitStageExecutor implements AutoCloseable {
         ClassGenerator.BlockCreateMode.MERGE,
         true);
     final Filterer javaFilter = filterClassGen.getCodeGenerator().getImplementationClass();
+    javaCompileNanosSaved += filterClassGen.getCodeGenerator().getCompileNanosSaved();
     javaFilter.setup(context.getClassProducer().getFunctionContext(), incoming, outgoing);
     javaCodeGenWatch.stop();
     this.filterFunction = new JavaTimedFilter(javaFilter);
   }
 
+  long getJavaCompileNanosSaved() {
+    return javaCompileNanosSaved;
+  }
+
   private void allocateNew(int recordsToConsume) {
     for (ValueVector vv : allocationVectors) {
       if (vv instanceof ListVector) {
@@ -398,6 +452,7 @@ class SplitStageExecutor implements AutoCloseable {
       Function<String, Closeable> debugInfoFunction)
       throws Exception {
     try {
+      awaitJavaProjector(javaWatch);
       allocateNew(recordsToConsume);
 
       gandivaWatch.start();
@@ -443,6 +498,15 @@ class SplitStageExecutor implements AutoCloseable {
 
   @Override
   public void close() throws Exception {
+    if (pendingJavaProjector != null) {
+      // only drops this stage's interest: the compilation is shared with other fragments and
+      // still populates the code cache when it completes
+      pendingJavaProjector.cancel(false);
+      pendingJavaProjector = null;
+      pendingCodeGenerator = null;
+      pendingOutgoing = null;
+      pendingOptions = null;
+    }
     if (nativeProjectEvaluator != null) {
       nativeProjectEvaluator.close();
     }
@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.planner.acceleration;
+
+import com.dremio.exec.planner.acceleration.descriptor.ExpandedMaterializationDescriptor;
+import com.dremio.exec.planner.acceleration.descriptor.MaterializationDescriptor;
+import com.dremio.exec.planner.acceleration.substitution.SubstitutionUtils.ExternalQueryDescriptor;
+import com.dremio.exec.planner.acceleration.substitution.SubstitutionUtils.References;
+import com.dremio.exec.planner.acceleration.substitution.SubstitutionUtils.VersionedPath;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Inverted index from the tables, views and external queries used by expanded materializations to
+ * the reflections they belong to. Looking up the datasets of a query returns every materialization
+ * of every reflection with at least one expanded materialization that could be applicable, so
+ * reflections that share nothing with the query are never visited by the planner.
+ *
+ * <p>Descriptors that are not expanded cannot be indexed and are always returned. The index is
+ * immutable and should be rebuilt whenever the set of descriptors changes.
+ */
+public final class MaterializationCandidateIndex {
+
+  private final List<List<MaterializationDescriptor>> reflections;
+  private final Map<VersionedPath, BitSet> tables = new HashMap<>();
+  private final Map<VersionedPath, BitSet> vdsPaths = new HashMap<>();
+  private final Map<ExternalQueryDescriptor, BitSet> externalQueries = new HashMap<>();
+  private final BitSet unindexed = new BitSet();
+  private final int size;
+
+  public MaterializationCandidateIndex(Iterable<? extends MaterializationDescriptor> descriptors) {
+    // group by reflection, in order of first appearance, so that a reflection is either returned
+    // with all of its materializations or not at all
+    final Map<String, List<MaterializationDescriptor>> byReflection = new LinkedHashMap<>();
+    int count = 0;
+    for (MaterializationDescriptor descriptor : descriptors) {
+      byReflection
+          .computeIfAbsent(descriptor.getLayoutId(), k -> new ArrayList<>())
+          .add(descriptor);
+      count++;
+    }
+    this.reflections = new ArrayList<>(byReflection.values());
+    this.size = count;
+
+    for (int ordinal = 0; ordinal < reflections.size(); ordinal++) {
+      for (MaterializationDescriptor descriptor : reflections.get(ordinal)) {
+        if (!(descriptor instanceof ExpandedMaterializationDescriptor)) {
+          unindexed.set(ordinal);
+          continue;
+        }
+        final References references =
+            ((ExpandedMaterializationDescriptor) descriptor).getReferences();
+        addPostings(tables, references.getTables(), ordinal);
+        addPostings(vdsPaths, references.getVdsPaths(), ordinal);
+        addPostings(externalQueries, references.getExternalQueries(), ordinal);
+      }
+    }
+  }
+
+  private static <K> void addPostings(Map<K, BitSet> postings, Set<K> keys, int ordinal) {
+    for (K key : keys) {
+      postings.computeIfAbsent(key, k -> new BitSet()).set(ordinal);
+    }
+  }
+
+  private static <K> void collect(Map<K, BitSet> postings, Set<K> keys, BitSet result) {
+    for (K key : keys) {
+      final BitSet posting = postings.get(key);
+      if (posting != null) {
+        result.or(posting);
+      }
+    }
+  }
+
+  /**
+   * Returns the descriptors of all reflections that may substitute into a query using the given
+   * tables, views and external queries, in the order they were indexed.
+   */
+  public List<MaterializationDescriptor> getCandidates(
+      Set<VersionedPath> queryTables,
+      Set<VersionedPath> queryVdsPaths,
+      Set<ExternalQueryDescriptor> queryExternalQueries) {
+    final BitSet matched = (BitSet) unindexed.clone();
+    collect(tables, queryTables, matched);
+    collect(vdsPaths, queryVdsPaths, matched);
+    collect(externalQueries, queryExternalQueries, matched);
+
+    final List<MaterializationDescriptor> candidates = new ArrayList<>();
+    for (int ordinal = matched.nextSetBit(0);
+        ordinal >= 0;
+        ordinal = matched.nextSetBit(ordinal + 1)) {
+      candidates.addAll(reflections.get(ordinal));
+    }
+    return candidates;
+  }
+
+  /** Returns the number of indexed descriptors. */
+  public int size() {
+    return size;
+  }
+}
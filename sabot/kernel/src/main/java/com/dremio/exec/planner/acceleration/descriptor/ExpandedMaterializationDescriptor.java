@@ -21,6 +21,8 @@ import com.dremio.exec.planner.acceleration.DremioMaterialization;
 import com.dremio.exec.planner.acceleration.substitution.SubstitutionUtils;
 import com.dremio.exec.planner.sql.SqlConverter;
 import com.google.common.base.Preconditions;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import java.util.Set;
 import org.apache.calcite.plan.CopyWithCluster;
 import org.apache.calcite.plan.RelOptCluster;
@@ -35,6 +37,7 @@ import org.apache.calcite.util.NlsString;
 public class ExpandedMaterializationDescriptor extends BaseMaterializationDescriptor {
 
   private final DremioMaterialization materialization;
+  private final Supplier<SubstitutionUtils.References> references;
 
   public ExpandedMaterializationDescriptor(
       MaterializationDescriptor descriptor, DremioMaterialization materialization) {
@@ -51,6 +54,8 @@ public class ExpandedMaterializationDescriptor extends BaseMaterializationDescri
         descriptor.isStale());
     this.materialization =
         Preconditions.checkNotNull(materialization, "materialization is required");
+    this.references =
+        Suppliers.memoize(() -> SubstitutionUtils.findReferences(materialization.getQueryRel()));
   }
 
   public ExpandedMaterializationDescriptor(
@@ -69,6 +74,7 @@ public class ExpandedMaterializationDescriptor extends BaseMaterializationDescri
     this.materialization =
         Preconditions.checkNotNull(
             cachedDescriptor.getMaterialization(), "materialization is required");
+    this.references = cachedDescriptor.references;
   }
 
   @Override
@@ -114,6 +120,11 @@ public class ExpandedMaterializationDescriptor extends BaseMaterializationDescri
     return materialization;
   }
 
+  /** Returns the tables, views and external queries the materialization's plan is built on. */
+  public SubstitutionUtils.References getReferences() {
+    return references.get();
+  }
+
   /**
    * Returns true only if there is overlap between this materialization and the input tables, views
    * and external queries.
@@ -128,7 +139,6 @@ public class ExpandedMaterializationDescriptor extends BaseMaterializationDescri
       Set<SubstitutionUtils.VersionedPath> queryTablesUsed,
       Set<SubstitutionUtils.VersionedPath> queryVdsUsed,
       Set<SubstitutionUtils.ExternalQueryDescriptor> externalQueries) {
-    return SubstitutionUtils.usesTableOrVds(
-        queryTablesUsed, queryVdsUsed, externalQueries, materialization.getQueryRel());
+    return getReferences().overlaps(queryTablesUsed, queryVdsUsed, externalQueries);
   }
 }
@@ -29,6 +29,7 @@ import com.google.common.collect.Sets;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.Writer;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -105,6 +106,74 @@ public final class SubstitutionUtils {
     return usedTables;
   }
 
+  /** Returns the tables, views and external queries referenced anywhere in {@code rel}. */
+  public static References findReferences(final RelNode rel) {
+    final Set<VersionedPath> tables = new HashSet<>();
+    final Set<VersionedPath> vdsPaths = new HashSet<>();
+    final Set<ExternalQueryDescriptor> externalQueries = new HashSet<>();
+    final RelVisitor visitor =
+        new RelVisitor() {
+          @Override
+          public void visit(final RelNode node, final int ordinal, final RelNode parent) {
+            if (node instanceof TableScan) {
+              TableVersionContext versionContext = null;
+              if (node instanceof ScanCrel) {
+                versionContext = ((ScanCrel) node).getTableMetadata().getVersionContext();
+              }
+              tables.add(VersionedPath.of(node.getTable().getQualifiedName(), versionContext));
+            } else if (node instanceof ExternalQueryScanCrel) {
+              externalQueries.add(descriptor((ExternalQueryScanCrel) node));
+            } else if (node instanceof ExpansionNode) {
+              vdsPaths.add(VersionedPath.of((ExpansionNode) node));
+            }
+            super.visit(node, ordinal, parent);
+          }
+        };
+    visitor.go(rel);
+    return new References(tables, vdsPaths, externalQueries);
+  }
+
+  /**
+   * Tables, views and external queries referenced by a plan. Computing them once lets callers
+   * repeat the {@link #usesTableOrVds} check against many queries without walking the plan again.
+   */
+  public static final class References {
+    private final Set<VersionedPath> tables;
+    private final Set<VersionedPath> vdsPaths;
+    private final Set<ExternalQueryDescriptor> externalQueries;
+
+    private References(
+        Set<VersionedPath> tables,
+        Set<VersionedPath> vdsPaths,
+        Set<ExternalQueryDescriptor> externalQueries) {
+      this.tables = Collections.unmodifiableSet(tables);
+      this.vdsPaths = Collections.unmodifiableSet(vdsPaths);
+      this.externalQueries = Collections.unmodifiableSet(externalQueries);
+    }
+
+    public Set<VersionedPath> getTables() {
+      return tables;
+    }
+
+    public Set<VersionedPath> getVdsPaths() {
+      return vdsPaths;
+    }
+
+    public Set<ExternalQueryDescriptor> getExternalQueries() {
+      return externalQueries;
+    }
+
+    /** Same answer as {@link #usesTableOrVds} for the plan these references were found in. */
+    public boolean overlaps(
+        Set<VersionedPath> queryTables,
+        Set<VersionedPath> queryVdsPaths,
+        Set<ExternalQueryDescriptor> queryExternalQueries) {
+      return !Collections.disjoint(tables, queryTables)
+          || !Collections.disjoint(vdsPaths, queryVdsPaths)
+          || !Collections.disjoint(externalQueries, queryExternalQueries);
+    }
+  }
+
   public static int hash(RelNode rel) {
     Hasher hasher = new Hasher();
     PrintWriter pw = new PrintWriter(hasher, false);
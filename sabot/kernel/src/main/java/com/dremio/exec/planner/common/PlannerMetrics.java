@@ -36,6 +36,7 @@ public class PlannerMetrics {
 
   public static final String PLAN_CACHE_SYNC = "plan_cache_sync";
   public static final String PLAN_CACHE_ENTRIES = "plan_cache_entries";
+  public static final String PLAN_CACHE_LOOKUPS = "plan_cache_lookups";
   public static final String AMBIGUOUS_COLUMN = "ambiguous_column";
   // Metric tags
   public static final String TAG_REASON = "reason";
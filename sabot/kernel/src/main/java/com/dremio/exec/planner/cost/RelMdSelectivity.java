@@ -19,6 +19,7 @@ import com.dremio.exec.planner.common.ScanRelBase;
 import com.dremio.exec.planner.physical.TableFunctionPrel;
 import com.dremio.exec.store.TableMetadata;
 import com.dremio.exec.store.sys.statistics.StatisticsService;
+import com.dremio.service.namespace.NamespaceKey;
 import com.google.common.base.MoreObjects;
 import java.util.ArrayList;
 import java.util.EnumSet;
@@ -27,6 +28,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import org.apache.calcite.plan.RelOptTable;
 import org.apache.calcite.plan.RelOptUtil;
 import org.apache.calcite.plan.volcano.RelSubset;
 import org.apache.calcite.rel.RelNode;
@@ -34,6 +36,7 @@ import org.apache.calcite.rel.SingleRel;
 import org.apache.calcite.rel.core.Join;
 import org.apache.calcite.rel.core.JoinRelType;
 import org.apache.calcite.rel.core.TableScan;
+import org.apache.calcite.rel.metadata.RelColumnOrigin;
 import org.apache.calcite.rel.metadata.ReflectiveRelMetadataProvider;
 import org.apache.calcite.rel.metadata.RelMdUtil;
 import org.apache.calcite.rel.metadata.RelMetadataProvider;
@@ -47,6 +50,7 @@ import org.apache.calcite.rex.RexVisitor;
 import org.apache.calcite.rex.RexVisitorImpl;
 import org.apache.calcite.sql.SqlKind;
 import org.apache.calcite.util.BuiltInMethod;
+import org.apache.calcite.util.ImmutableBitSet;
 import org.apache.calcite.util.Util;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -153,7 +157,7 @@ public class RelMdSelectivity extends org.apache.calcite.rel.metadata.RelMdSelec
       }
       // ToDo: The JoinFilters are based on the inputs but the original filter might be based on the
       // output
-      sel *= guessSelectivity(RexUtil.composeConjunction(rexBuilder, joinFilters, false));
+      sel *= computeJoinFilterSelectivity(rel, mq, joinFilters);
       // The remaining filters that could not be passed to the left, right or Join
       sel *= guessSelectivity(RexUtil.composeConjunction(rexBuilder, predList, false));
       return sel;
@@ -161,6 +165,63 @@ public class RelMdSelectivity extends org.apache.calcite.rel.metadata.RelMdSelec
     return super.getSelectivity(rel, mq, predicate);
   }
 
+  /**
+   * Estimates equality predicates between a column of each join input as 1 / max(NDV of both
+   * columns), the usual containment assumption, and guesses the selectivity of anything else. The
+   * NDVs are only used when statistics were collected for both columns, as the distinct row count
+   * is otherwise a fraction of the row count and would make every equi-join look selective.
+   */
+  private double computeJoinFilterSelectivity(
+      Join rel, RelMetadataQuery mq, List<RexNode> joinFilters) {
+    double sel = 1.0;
+    final int leftFieldCount = rel.getLeft().getRowType().getFieldCount();
+    final int rightFieldCount = rel.getRight().getRowType().getFieldCount();
+    for (RexNode filter : joinFilters) {
+      Double equiSel = null;
+      if (filter.isA(SqlKind.EQUALS)) {
+        final List<RexNode> operands = ((RexCall) filter).getOperands();
+        if (operands.get(0) instanceof RexInputRef && operands.get(1) instanceof RexInputRef) {
+          final int first = ((RexInputRef) operands.get(0)).getIndex();
+          final int second = ((RexInputRef) operands.get(1)).getIndex();
+          final int leftIndex = Math.min(first, second);
+          final int rightIndex = Math.max(first, second) - leftFieldCount;
+          if (leftIndex < leftFieldCount
+              && rightIndex >= 0
+              && rightIndex < rightFieldCount
+              && isDistinctCountStatCollected(mq, rel.getLeft(), leftIndex)
+              && isDistinctCountStatCollected(mq, rel.getRight(), rightIndex)) {
+            final Double leftNdv =
+                mq.getDistinctRowCount(rel.getLeft(), ImmutableBitSet.of(leftIndex), null);
+            final Double rightNdv =
+                mq.getDistinctRowCount(rel.getRight(), ImmutableBitSet.of(rightIndex), null);
+            if (leftNdv != null && rightNdv != null && Math.max(leftNdv, rightNdv) >= 1.0) {
+              equiSel = 1.0 / Math.max(leftNdv, rightNdv);
+            }
+          }
+        }
+      }
+      sel *= equiSel != null ? equiSel : guessSelectivity(filter);
+    }
+    return sel;
+  }
+
+  private boolean isDistinctCountStatCollected(RelMetadataQuery mq, RelNode rel, int column) {
+    final RelColumnOrigin columnOrigin = mq.getColumnOrigin(rel, column);
+    if (columnOrigin == null) {
+      return false;
+    }
+    final RelOptTable originTable = columnOrigin.getOriginTable();
+    final String columnName =
+        originTable.getRowType().getFieldNames().get(columnOrigin.getOriginColumnOrdinal());
+    try {
+      return statisticsService.getNDV(columnName, new NamespaceKey(originTable.getQualifiedName()))
+          != null;
+    } catch (Exception e) {
+      logger.trace("Failed to get NDV of column {} of {}", columnName, originTable, e);
+      return false;
+    }
+  }
+
   public Double getSelectivity(RelSubset rel, RelMetadataQuery mq, RexNode predicate) {
     if (DremioRelMdUtil.isStatisticsEnabled(rel.getCluster().getPlanner(), isNoOp)) {
       return mq.getSelectivity(
@@ -50,6 +50,13 @@ public interface ParallelizationParameters {
    */
   double getAssignmentCreatorBalanceFactor();
 
+  /**
+   * @return true if the assignment balance factor applies to the average load per fragment.
+   */
+  default boolean balanceAssignmentsByAverage() {
+    return false;
+  }
+
   /**
    * @return true if affinity should be ignored for leaf fragments.
    */
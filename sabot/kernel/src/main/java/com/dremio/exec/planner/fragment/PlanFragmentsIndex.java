@@ -15,8 +15,10 @@
  */
 package com.dremio.exec.planner.fragment;
 
+import com.dremio.exec.planner.fragment.MinorAttrsMap.Key;
 import com.dremio.exec.proto.CoordExecRPC.MinorAttr;
 import com.dremio.exec.proto.CoordinationProtos.NodeEndpoint;
+import com.google.protobuf.ByteString;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -42,10 +44,13 @@ public class PlanFragmentsIndex {
   public static class Builder {
     EndpointsIndex.Builder endpointsIndexBuilder;
     Map<NodeEndpoint, SharedAttrsIndex.Builder> sharedAttrsIndexBuilderMap;
+    // serialized shared attributes, common to the builders of all endpoints.
+    Map<Key, ByteString> sharedAttrValues;
 
     public Builder() {
       endpointsIndexBuilder = new EndpointsIndex.Builder();
       sharedAttrsIndexBuilderMap = new HashMap<>();
+      sharedAttrValues = new HashMap<>();
     }
 
     public EndpointsIndex.Builder getEndpointsIndexBuilder() {
@@ -55,7 +60,7 @@ public class PlanFragmentsIndex {
     /** The shared attribute index is built separately for each endpoint. */
     public SharedAttrsIndex.Builder getSharedAttrsIndexBuilder(NodeEndpoint endpoint) {
       return sharedAttrsIndexBuilderMap.computeIfAbsent(
-          endpoint, k -> new SharedAttrsIndex.Builder());
+          endpoint, k -> new SharedAttrsIndex.Builder(sharedAttrValues));
     }
   }
 }
@@ -61,9 +61,21 @@ public class SharedAttrsIndex {
   }
 
   public static class Builder {
-    private Map<Key, ByteString> attrMap = new HashMap<>();
+    private final Map<Key, ByteString> attrMap = new HashMap<>();
+    private final Map<Key, ByteString> serializedValues;
 
-    public Builder() {}
+    public Builder() {
+      this(new HashMap<>());
+    }
+
+    /**
+     * Create a builder that shares serialized values with other builders of the same plan. Since
+     * the key is unique across all the fragments, an attribute sent to several endpoints is
+     * serialized only once and all the endpoints reference the same bytes.
+     */
+    Builder(Map<Key, ByteString> serializedValues) {
+      this.serializedValues = serializedValues;
+    }
 
     public interface Serializer {
       ByteString Serialize();
@@ -73,7 +85,7 @@ public class SharedAttrsIndex {
       Key key = new Key(props.getOperatorId(), name);
       if (!attrMap.containsKey(key)) {
         // delay serialization till we know it's a unique attr.
-        attrMap.put(key, serializer.Serialize());
+        attrMap.put(key, serializedValues.computeIfAbsent(key, k -> serializer.Serialize()));
       }
     }
 
@@ -94,6 +94,7 @@ public class SimpleParallelizer implements ParallelizationParameters {
   private final double affinityFactor;
   private final boolean useNewAssignmentCreator;
   private final double assignmentCreatorBalanceFactor;
+  private final boolean balanceAssignmentsByAverage;
   private final MaestroObserver observer;
   private final ExecutionNodeMap executionMap;
   private final FragmentCodec fragmentCodec;
@@ -128,6 +129,8 @@ public class SimpleParallelizer implements ParallelizationParameters {
     this.useNewAssignmentCreator = !optionManager.getOption(ExecConstants.OLD_ASSIGNMENT_CREATOR);
     this.assignmentCreatorBalanceFactor =
         optionManager.getOption(ExecConstants.ASSIGNMENT_CREATOR_BALANCE_FACTOR);
+    this.balanceAssignmentsByAverage =
+        optionManager.getOption(ExecConstants.ASSIGNMENT_CREATOR_BALANCE_BY_AVERAGE);
     this.observer = observer;
     this.fragmentCodec =
         FragmentCodec.valueOf(optionManager.getOption(ExecConstants.FRAGMENT_CODEC).toUpperCase());
@@ -182,6 +185,7 @@ public class SimpleParallelizer implements ParallelizationParameters {
     this.observer = observer;
     this.useNewAssignmentCreator = useNewAssignmentCreator;
     this.assignmentCreatorBalanceFactor = assignmentCreatorBalanceFactor;
+    this.balanceAssignmentsByAverage = false;
     this.fragmentCodec = FragmentCodec.NONE;
     this.queryContext = null;
     this.targetNumFragsPerNode = 1;
@@ -219,6 +223,11 @@ public class SimpleParallelizer implements ParallelizationParameters {
     return assignmentCreatorBalanceFactor;
   }
 
+  @Override
+  public boolean balanceAssignmentsByAverage() {
+    return balanceAssignmentsByAverage;
+  }
+
   @Override
   public boolean shouldIgnoreLeafAffinity() {
     return shouldIgnoreLeafAffinity;
@@ -140,7 +140,10 @@ public class Wrapper {
         if (parameters.useNewAssignmentCreator()) {
           assignments =
               AssignmentCreator2.getMappings(
-                  endpoints, splitMap.get(scan), parameters.getAssignmentCreatorBalanceFactor());
+                  endpoints,
+                  splitMap.get(scan),
+                  parameters.getAssignmentCreatorBalanceFactor(),
+                  parameters.balanceAssignmentsByAverage());
         } else {
           assignments = AssignmentCreator.getMappings(endpoints, splitMap.get(scan));
         }
@@ -27,7 +27,9 @@ import com.dremio.service.namespace.source.proto.SourceConfig;
 import com.google.common.base.Preconditions;
 import com.google.common.cache.Cache;
 import com.google.common.collect.Multimap;
+import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
 import io.micrometer.core.instrument.Metrics;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -40,6 +42,7 @@ public class LegacyPlanCache implements PlanCache {
 
   private final Cache<String, CachedPlan> cachePlans;
   private final Multimap<String, String> datasetMap;
+  private final Meter.MeterProvider<Counter> lookupCounter;
 
   public LegacyPlanCache(Cache<String, CachedPlan> cachePlans, Multimap<String, String> map) {
     this.cachePlans = cachePlans;
@@ -50,6 +53,15 @@ public class LegacyPlanCache implements PlanCache {
             cachePlans::size)
         .description("Number of plan cache entries")
         .register(Metrics.globalRegistry);
+    lookupCounter =
+        Counter.builder(
+                PlannerMetrics.createName(PlannerMetrics.PREFIX, PlannerMetrics.PLAN_CACHE_LOOKUPS))
+            .description("Plan cache lookups, by result")
+            .withRegistry(Metrics.globalRegistry);
+  }
+
+  private void countLookup(String result) {
+    lookupCounter.withTag("result", result).increment();
   }
 
   @Override
@@ -126,6 +138,7 @@ public class LegacyPlanCache implements PlanCache {
               // for this case, we can only invalidate this cache entry, other cache entries may
               // still be valid
               cachePlans.invalidate(planCacheKey.getHash());
+              countLookup("invalidated");
               LOGGER.debug(
                   "Physical plan cache hit with cacheKey {}: Cache invalidated due to updated dataset {}. datasetTime={} planTime={}",
                   planCacheKey,
@@ -147,6 +160,7 @@ public class LegacyPlanCache implements PlanCache {
                             : sourceConfig.getCtime();
                     if (lastModifiedAt > cachedPlan.getCreationTime()) {
                       cachePlans.invalidate(planCacheKey.getHash());
+                      countLookup("invalidated");
                       LOGGER.debug(
                           "Physical plan cache hit with cacheKey {}: Cache invalidated due to updated source {}. sourceTime={} planTime={}",
                           planCacheKey,
@@ -172,10 +186,12 @@ public class LegacyPlanCache implements PlanCache {
               ignore);
         }
       }
+      countLookup("hit");
       LOGGER.debug("Physical plan cache hit with cacheKey {}", planCacheKey);
       return cachedPlan;
     }
 
+    countLookup("miss");
     LOGGER.debug("Physical plan cache miss with cacheKey {}", planCacheKey);
     return null;
   }
@@ -99,9 +99,16 @@ public class NormalHandler implements SqlToPlanHandler {
       final RelNode queryRelNode = convertedRelNode.getConvertedNode();
       final PlannerCatalog catalog = config.getConverter().getPlannerCatalog();
 
-      final PlanCacheKey cachedKey =
-          PlanCacheUtils.generateCacheKey(sqlNode, queryRelNode, config.getContext());
-      CachedPlan cachedPlan = planCache.getIfPresentAndValid(config, cachedKey);
+      // the key hashes the full text of the query and its rel tree, only build it when the plan
+      // cache may be used.
+      final PlanCacheKey cachedKey;
+      CachedPlan cachedPlan = null;
+      if (plannerSettings.isPlanCacheEnabled()) {
+        cachedKey = PlanCacheUtils.generateCacheKey(sqlNode, queryRelNode, config.getContext());
+        cachedPlan = planCache.getIfPresentAndValid(config, cachedKey);
+      } else {
+        cachedKey = null;
+      }
 
       Span.current()
           .setAttribute("dremio.planner.cache.enabled", plannerSettings.isPlanCacheEnabled());
@@ -131,7 +138,8 @@ public class NormalHandler implements SqlToPlanHandler {
         textPlan = convertToPrel.getValue();
 
         // after we generate a physical plan, save it in the plan cache if plan cache is present
-        if (PlanCacheUtils.supportPlanCache(
+        if (cachedKey != null
+            && PlanCacheUtils.supportPlanCache(
             config,
             sqlNode,
             catalog,
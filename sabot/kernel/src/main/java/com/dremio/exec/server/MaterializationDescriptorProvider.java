@@ -16,10 +16,13 @@
 package com.dremio.exec.server;
 
 import com.dremio.exec.planner.acceleration.descriptor.MaterializationDescriptor;
+import com.dremio.exec.planner.acceleration.substitution.SubstitutionUtils.ExternalQueryDescriptor;
+import com.dremio.exec.planner.acceleration.substitution.SubstitutionUtils.VersionedPath;
 import com.dremio.exec.planner.logical.ViewTable;
 import com.google.common.collect.ImmutableList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /** A materialization provider */
 public interface MaterializationDescriptorProvider {
@@ -30,6 +33,20 @@ public interface MaterializationDescriptorProvider {
    */
   List<MaterializationDescriptor> get();
 
+  /**
+   * Provides the materialization instances that may substitute into a query using the given tables,
+   * views and external queries. Implementations may return more than needed, but never leave out a
+   * materialization that {@link MaterializationDescriptor#isApplicable} accepts.
+   *
+   * @return a list of {@code Materialization} instances. Might be empty.
+   */
+  default List<MaterializationDescriptor> get(
+      Set<VersionedPath> queryTablesUsed,
+      Set<VersionedPath> queryVdsUsed,
+      Set<ExternalQueryDescriptor> externalQueries) {
+    return get();
+  }
+
   /**
    * Returns the default raw materialization that provider considers for substitution for the VDS
    * with the given path
@@ -16,6 +16,7 @@
 package com.dremio.exec.store.dfs;
 
 import com.dremio.exec.catalog.StoragePluginId;
+import com.dremio.exec.compile.PersistentClassCache;
 import com.dremio.exec.server.SabotContext;
 import javax.inject.Provider;
 
@@ -30,4 +31,10 @@ public class GandivaPersistentCachePlugin
       Provider<StoragePluginId> idProvider) {
     super(config, context, name, idProvider);
   }
+
+  @Override
+  public void close() {
+    PersistentClassCache.closeInstance();
+    super.close();
+  }
 }
@@ -18,11 +18,14 @@ package com.dremio.exec.store.dfs;
 import static com.google.common.base.Strings.isNullOrEmpty;
 
 import com.dremio.common.UserConstants;
+import com.dremio.exec.ExecConstants;
 import com.dremio.exec.catalog.StoragePluginId;
 import com.dremio.exec.catalog.conf.Property;
 import com.dremio.exec.catalog.conf.SourceType;
+import com.dremio.exec.compile.PersistentClassCache;
 import com.dremio.exec.server.SabotContext;
 import com.dremio.exec.store.CatalogService;
+import com.dremio.io.file.FileSystem;
 import com.dremio.io.file.Path;
 import com.dremio.sabot.op.llvm.GandivaSecondaryCache;
 import com.dremio.service.coordinator.proto.DataCredentials;
@@ -42,6 +45,7 @@ public class GandivaPersistentCachePluginConfig
       org.slf4j.LoggerFactory.getLogger(GandivaPersistentCachePluginConfig.class);
 
   public static final String GANDIVA_PERSISTENT_CACHE_PLUGIN_NAME = "__gandiva_persistent_cache";
+  private static final String JAVA_CLASS_CACHE_DIRECTORY = "java";
 
   @Tag(1)
   public String connection;
@@ -226,8 +230,15 @@ public class GandivaPersistentCachePluginConfig
         new GandivaPersistentCachePlugin(this, context, name, pluginIdProvider);
     try {
       // instantiate the singleton secondary cache with filesystem and path
-      GandivaSecondaryCache.createInstance(
-          plugin.newFileSystem(UserConstants.SYSTEM_USERNAME, null), getPath());
+      final FileSystem fs = plugin.newFileSystem(UserConstants.SYSTEM_USERNAME, null);
+      GandivaSecondaryCache.createInstance(fs, getPath());
+      // compiled Java classes share the file system, in their own directory
+      PersistentClassCache.createInstance(
+          fs,
+          Path.mergePaths(getPath(), Path.of(JAVA_CLASS_CACHE_DIRECTORY)),
+          context.getEndpoint().getAddress() + "_" + context.getEndpoint().getFabricPort(),
+          () ->
+              context.getOptionManager().getOption(ExecConstants.JAVA_PERSISTENT_CACHE_MAX_BYTES));
     } catch (IOException e) {
       logger.warn("Failed to create the secondary cache singleton instance", e);
     }
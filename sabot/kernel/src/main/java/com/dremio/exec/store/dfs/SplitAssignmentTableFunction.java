@@ -50,6 +50,7 @@ import com.dremio.service.namespace.dataset.proto.PartitionProtobuf;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Multimap;
 import com.google.common.hash.Hashing;
 import com.google.common.net.HostAndPort;
@@ -98,6 +99,9 @@ public class SplitAssignmentTableFunction extends AbstractTableFunction {
       hostToEndpointMap; // only keep the host information in this map
   private List<SplitWork> splitWorkList;
   private final double balanceFactor;
+  private final boolean balanceByAverage;
+  // bytes assigned to each target fragment by previous batches
+  private final long[] assignedBytes;
   private final RendezvousHash<RendezvousPageHasher.PathOffset, ComparableEndpoint> hasher;
 
   private final SupportsInternalIcebergTable plugin;
@@ -129,6 +133,7 @@ public class SplitAssignmentTableFunction extends AbstractTableFunction {
             .sorted(Comparator.comparing(MinorFragmentEndpoint::getMinorFragmentId))
             .map(MinorFragmentEndpoint::getEndpoint)
             .collect(Collectors.toList());
+    assignedBytes = new long[nodeEndpoints.size()];
 
     hostAndPortToEndpointMap =
         nodeEndpoints.stream()
@@ -159,6 +164,8 @@ public class SplitAssignmentTableFunction extends AbstractTableFunction {
                     .putInt(n.hostPort.getPort()),
             comparableEndpoints);
     balanceFactor = context.getOptions().getOption(ExecConstants.ASSIGNMENT_CREATOR_BALANCE_FACTOR);
+    balanceByAverage =
+        context.getOptions().getOption(ExecConstants.ASSIGNMENT_CREATOR_BALANCE_BY_AVERAGE);
   }
 
   @Override
@@ -236,10 +243,12 @@ public class SplitAssignmentTableFunction extends AbstractTableFunction {
     int recordCount = incoming.getRecordCount();
     Preconditions.checkArgument(recordCount <= maxRecords);
 
-    AssignmentCreator2.getMappings(nodeEndpoints, splitWorkList, balanceFactor)
-        .asMap()
-        .entrySet()
-        .stream()
+    // splits arrive in batches, so balance each batch against what earlier ones already assigned
+    final ListMultimap<Integer, SplitWork> mappings =
+        AssignmentCreator2.getMappings(
+            nodeEndpoints, splitWorkList, balanceFactor, balanceByAverage, assignedBytes);
+    mappings.forEach((fragment, work) -> assignedBytes[fragment] += work.getTotalBytes());
+    mappings.asMap().entrySet().stream()
         .flatMap(e -> e.getValue().stream().map(k -> Pair.of(k.rowIndex, e.getKey())))
         .sorted(Comparator.comparing(Pair::getLeft))
         .forEach(p -> hashVector.setSafe(p.getLeft(), p.getRight()));
@@ -23,6 +23,7 @@ import static com.dremio.exec.store.easy.arrow.ArrowFormatPlugin.MAGIC_STRING_LE
 import com.dremio.common.exceptions.ExecutionSetupException;
 import com.dremio.common.exceptions.UserException;
 import com.dremio.common.expression.SchemaPath;
+import com.dremio.exec.ExecConstants;
 import com.dremio.exec.expr.TypeHelper;
 import com.dremio.exec.proto.UserBitShared;
 import com.dremio.exec.proto.UserBitShared.SerializedField;
@@ -40,6 +41,7 @@ import com.dremio.sabot.op.scan.OutputMutator;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.primitives.Longs;
+import com.google.protobuf.CodedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Arrays;
@@ -68,6 +70,8 @@ public class ArrowRecordReader extends AbstractRecordReader {
   private ArrowFileFooter footer;
   private BatchSchema footerSchema;
   private BufferAllocator allocator;
+  private long footerOffset;
+  private boolean useMappedReads;
 
   private Map<Integer, ValueVector> vectors =
       Maps.newHashMap(); // map of column index and output vector
@@ -106,7 +110,7 @@ public class ArrowRecordReader extends AbstractRecordReader {
 
       inputStream.setPosition(size - (MAGIC_STRING_LENGTH + FOOTER_OFFSET_SIZE));
 
-      final long footerOffset = readLong(inputStream);
+      footerOffset = readLong(inputStream);
 
       final byte[] magic = new byte[MAGIC_STRING_LENGTH];
       IOUtils.readFully(inputStream, magic);
@@ -158,6 +162,9 @@ public class ArrowRecordReader extends AbstractRecordReader {
       // Reset to beginning of the file
       inputStream.setPosition(0);
       nextBatchIndex = 0;
+      useMappedReads =
+          context.getOptions().getOption(ExecConstants.ARROW_FILE_MMAP_ENABLED)
+              && MappedArrowRegion.isSupported(dfs);
     } catch (final Exception e) {
       String bestEffortMessage = bestEffortMessageForUnknownException(e.getCause());
       if (bestEffortMessage != null) {
@@ -196,64 +203,108 @@ public class ArrowRecordReader extends AbstractRecordReader {
         batchSummary = footer.getBatch(++nextBatchIndex);
       }
 
-      inputStream.setPosition(batchSummary.getOffset());
-
-      // Read the RecordBatchDef
-      final UserBitShared.RecordBatchDef batchDef =
-          UserBitShared.RecordBatchDef.parseDelimitedFrom(inputStream);
-      final int recordCount = batchDef.getRecordCount();
-      if (batchDef.hasCarriesTwoByteSelectionVector()
-          && batchDef.getCarriesTwoByteSelectionVector()) {
-        // We shouldn't get into this condition as the writer never gets a batch with SV2.
-        throw UserException.unsupportedError()
-            .message("Selection vector is not supported")
-            .build(logger);
-      }
+      final int recordCount =
+          useMappedReads ? loadMappedBatch(batchSummary) : loadBatch(batchSummary);
 
-      final List<SerializedField> fieldListFromBatch = batchDef.getFieldList();
+      nextBatchIndex++;
 
-      BatchSchema batchSchema =
-          BatchSchema.newBuilder().addSerializedFields(fieldListFromBatch).build();
+      return recordCount;
+    } catch (final Exception e) {
+      throw UserException.dataReadError(e)
+          .message("Failed to read data from Arrow format file.")
+          .addContext("filePath", path.toString())
+          .addContext("currentBatchIndex", nextBatchIndex)
+          .build(logger);
+    }
+  }
 
-      // Compare the filed types given in batch definition and footer.
-      if (!footerSchema.equals(batchSchema)) {
-        throw UserException.dataReadError()
-            .message("RecordBatch has different schema than the one stored in footer")
-            .addContext("filePath", path.toString())
-            .addContext("RecordBatch schema", batchSchema.toString())
-            .addContext("Schema in footer", footerSchema.toString())
-            .build(logger);
+  /** Reads the batch through the input stream, copying the selected buffers into vectors. */
+  private int loadBatch(ArrowRecordBatchSummary batchSummary) throws IOException {
+    inputStream.setPosition(batchSummary.getOffset());
+
+    // Read the RecordBatchDef
+    final UserBitShared.RecordBatchDef batchDef =
+        UserBitShared.RecordBatchDef.parseDelimitedFrom(inputStream);
+    validateBatchDef(batchDef);
+    final List<SerializedField> fieldListFromBatch = batchDef.getFieldList();
+
+    // Read the buffers and load into vectors
+    int loadedVectors = vectors.size();
+
+    for (int i = 0; i < fieldListFromBatch.size(); i++) {
+      final SerializedField serializedField = fieldListFromBatch.get(i);
+      final int dataLength = serializedField.getBufferLength();
+      // if this field is selected read, otherwise skip the buffers
+      if (vectors.containsKey(i)) {
+        try (ArrowBuf buf = allocator.buffer(dataLength)) {
+          readIntoArrowBuf(inputStream, buf, dataLength);
+          TypeHelper.load(vectors.get(i), serializedField, buf);
+          loadedVectors--;
+          if (loadedVectors == 0) {
+            break;
+          }
+        }
+      } else {
+        inputStream.skip(dataLength);
       }
+    }
+    return batchDef.getRecordCount();
+  }
 
-      // Read the buffers and load into vectors
-      int loadedVectors = vectors.size();
-
+  /**
+   * Maps the batch region of a local file and loads the selected vectors from slices of the mapped
+   * buffer, so only the RecordBatchDef is deserialized and no data is copied. The mapping is
+   * accounted against the reader allocator and released with the last vector referencing it.
+   */
+  private int loadMappedBatch(ArrowRecordBatchSummary batchSummary) throws IOException {
+    final long batchStart = batchSummary.getOffset();
+    final long batchEnd =
+        nextBatchIndex + 1 < footer.getBatchCount()
+            ? footer.getBatch(nextBatchIndex + 1).getOffset()
+            : footerOffset;
+
+    try (ArrowBuf region =
+        MappedArrowRegion.map(allocator, path, batchStart, batchEnd - batchStart)) {
+      final CodedInputStream input =
+          CodedInputStream.newInstance(region.nioBuffer(0, (int) region.capacity()));
+      final int oldLimit = input.pushLimit(input.readRawVarint32());
+      final UserBitShared.RecordBatchDef batchDef = UserBitShared.RecordBatchDef.parseFrom(input);
+      input.popLimit(oldLimit);
+      validateBatchDef(batchDef);
+
+      long bufferOffset = input.getTotalBytesRead();
+      final List<SerializedField> fieldListFromBatch = batchDef.getFieldList();
       for (int i = 0; i < fieldListFromBatch.size(); i++) {
         final SerializedField serializedField = fieldListFromBatch.get(i);
         final int dataLength = serializedField.getBufferLength();
-        // if this field is selected read, otherwise skip the buffers
         if (vectors.containsKey(i)) {
-          try (ArrowBuf buf = allocator.buffer(dataLength)) {
-            readIntoArrowBuf(inputStream, buf, dataLength);
-            TypeHelper.load(vectors.get(i), serializedField, buf);
-            loadedVectors--;
-            if (loadedVectors == 0) {
-              break;
-            }
-          }
-        } else {
-          inputStream.skip(dataLength);
+          TypeHelper.load(vectors.get(i), serializedField, region.slice(bufferOffset, dataLength));
         }
+        bufferOffset += dataLength;
       }
+      return batchDef.getRecordCount();
+    }
+  }
 
-      nextBatchIndex++;
+  private void validateBatchDef(UserBitShared.RecordBatchDef batchDef) {
+    if (batchDef.hasCarriesTwoByteSelectionVector()
+        && batchDef.getCarriesTwoByteSelectionVector()) {
+      // We shouldn't get into this condition as the writer never gets a batch with SV2.
+      throw UserException.unsupportedError()
+          .message("Selection vector is not supported")
+          .build(logger);
+    }
 
-      return recordCount;
-    } catch (final Exception e) {
-      throw UserException.dataReadError(e)
-          .message("Failed to read data from Arrow format file.")
+    BatchSchema batchSchema =
+        BatchSchema.newBuilder().addSerializedFields(batchDef.getFieldList()).build();
+
+    // Compare the filed types given in batch definition and footer.
+    if (!footerSchema.equals(batchSchema)) {
+      throw UserException.dataReadError()
+          .message("RecordBatch has different schema than the one stored in footer")
           .addContext("filePath", path.toString())
-          .addContext("currentBatchIndex", nextBatchIndex)
+          .addContext("RecordBatch schema", batchSchema.toString())
+          .addContext("Schema in footer", footerSchema.toString())
           .build(logger);
     }
   }
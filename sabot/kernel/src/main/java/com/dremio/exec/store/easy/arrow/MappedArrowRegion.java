@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.store.easy.arrow;
+
+import com.dremio.io.file.FileSystem;
+import com.dremio.io.file.Path;
+import io.netty.util.internal.PlatformDependent;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.ForeignAllocation;
+
+/**
+ * Maps a region of a local Arrow format file into memory and exposes it as an {@link ArrowBuf}
+ * accounted against the given allocator. Vectors loaded from slices of the returned buffer share
+ * the mapping, which is unmapped once the last of them is released.
+ *
+ * <p>The mapping is private: downstream operators may write to the loaded vectors, e.g. when
+ * filling holes of variable width vectors, and written pages are copied on write instead of
+ * faulting or modifying the file.
+ */
+final class MappedArrowRegion {
+  private static final String LOCAL_SCHEME = "file";
+
+  private MappedArrowRegion() {}
+
+  /** Whether files of the given file system can be mapped directly. */
+  static boolean isSupported(FileSystem fs) {
+    return !fs.isPdfs() && LOCAL_SCHEME.equals(fs.getScheme());
+  }
+
+  /**
+   * Maps {@code length} bytes of the file starting at {@code offset}.
+   *
+   * @param allocator allocator the mapped bytes are accounted against
+   * @param path local file path
+   * @param offset start of the region in the file
+   * @param length length of the region, must fit in an int
+   * @return buffer over the mapped region, owned by the caller
+   */
+  static ArrowBuf map(BufferAllocator allocator, Path path, long offset, long length)
+      throws IOException {
+    final MappedByteBuffer mapped;
+    try (FileChannel channel =
+        FileChannel.open(
+            Paths.get(path.toURI().getPath()), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      // private mappings need a channel open for writing, the file itself is never written
+      mapped = channel.map(FileChannel.MapMode.PRIVATE, offset, Math.toIntExact(length));
+    }
+
+    try {
+      return allocator.wrapForeignAllocation(
+          new ForeignAllocation(length, PlatformDependent.directBufferAddress(mapped)) {
+            @Override
+            protected void release0() {
+              PlatformDependent.freeDirectBuffer(mapped);
+            }
+          });
+    } catch (RuntimeException e) {
+      PlatformDependent.freeDirectBuffer(mapped);
+      throw e;
+    }
+  }
+}
@@ -613,6 +613,9 @@ public class JSONRecordReader extends AbstractRecordReader {
 
   @Override
   public void close() throws Exception {
+    if (jsonReader != null) {
+      context.getStats().addLongStat(Metric.JSON_BYTES_SKIPPED, jsonReader.getBytesSkipped());
+    }
     if (stream != null) {
       stream.close();
     }
@@ -61,5 +61,13 @@ public interface JsonProcessor {
    */
   long getDataSizeCounter();
 
+  /**
+   * Get the number of input bytes skipped without being materialized because the values were not
+   * projected. Returns 0 when the source does not report byte offsets.
+   *
+   * @return
+   */
+  long getBytesSkipped();
+
   Pair<String, Long> getScrollAndTotalSizeThenSeekToHits() throws IOException;
 }
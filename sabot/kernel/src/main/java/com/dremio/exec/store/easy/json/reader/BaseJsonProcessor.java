@@ -77,6 +77,11 @@ public abstract class BaseJsonProcessor implements JsonProcessor {
     return 0;
   }
 
+  @Override
+  public long getBytesSkipped() {
+    return 0;
+  }
+
   @Override
   public Pair<String, Long> getScrollAndTotalSizeThenSeekToHits() throws IOException {
     return new Pair<>("default", 0L);
@@ -50,6 +50,7 @@ import com.dremio.sabot.exec.context.OperatorContext;
 import com.dremio.sabot.op.scan.OutputMutator;
 import com.dremio.sabot.op.scan.ScanOperator.Metric;
 import com.dremio.service.namespace.file.proto.FileType;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.Maps;
 import com.univocity.parsers.common.TextParsingException;
 import io.protostuff.ByteString;
@@ -80,7 +81,7 @@ public class CompliantTextRecordReader extends AbstractRecordReader {
   private static final org.slf4j.Logger logger =
       org.slf4j.LoggerFactory.getLogger(CompliantTextRecordReader.class);
 
-  private static final int READ_BUFFER = 1024 * 1024;
+  @VisibleForTesting static final int READ_BUFFER = 1024 * 1024;
   private static final int WHITE_SPACE_BUFFER = 64 * 1024;
 
   // settings to be used while parsing
@@ -17,6 +17,7 @@ package com.dremio.exec.store.easy.text.compliant;
 
 import com.dremio.common.exceptions.FieldSizeLimitExceptionHelper;
 import com.dremio.exec.exception.SchemaChangeException;
+import io.netty.util.internal.PlatformDependent;
 import java.util.List;
 import org.apache.arrow.vector.ValueVector;
 
@@ -96,6 +97,19 @@ abstract class FieldTypeOutput extends TextOutput {
     rowHasData = true;
   }
 
+  @Override
+  public void append(long address, int length) {
+    if (!collect || length == 0) {
+      return;
+    }
+
+    FieldSizeLimitExceptionHelper.checkSizeLimit(
+        currentDataPointer + length, maxCellLimit, currentFieldIndex, logger);
+    appendBytes(currentDataPointer, address, length);
+    currentDataPointer += length;
+    rowHasData = true;
+  }
+
   @Override
   public boolean endField() {
     fieldOpen = false;
@@ -112,6 +126,12 @@ abstract class FieldTypeOutput extends TextOutput {
 
   protected abstract void appendByte(int currentIndex, byte b);
 
+  protected void appendBytes(int currentIndex, long address, int length) {
+    for (int i = 0; i < length; i++) {
+      appendByte(currentIndex + i, PlatformDependent.getByte(address + i));
+    }
+  }
+
   protected abstract void writeValueInCurrentVector(int index, int endIndex);
 
   @Override
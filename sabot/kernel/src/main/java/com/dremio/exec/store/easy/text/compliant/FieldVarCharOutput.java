@@ -18,6 +18,7 @@ package com.dremio.exec.store.easy.text.compliant;
 import com.dremio.common.expression.SchemaPath;
 import com.dremio.exec.exception.SchemaChangeException;
 import com.dremio.sabot.op.scan.OutputMutator;
+import io.netty.util.internal.PlatformDependent;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -138,6 +139,16 @@ class FieldVarCharOutput extends FieldTypeOutput {
     tmpBuf.setByte(currentIndex, b);
   }
 
+  @Override
+  protected void appendBytes(int currentIndex, long address, int length) {
+    // size limit check has already been done
+    final int lastIndex = currentIndex + length - 1;
+    while (lastIndex >= tmpBuf.capacity()) {
+      expandTmpBufIfNecessary(lastIndex);
+    }
+    PlatformDependent.copyMemory(address, tmpBuf.memoryAddress() + currentIndex, length);
+  }
+
   @Override
   protected void writeValueInCurrentVector(int index, int endIndex) {
     ((VarCharVector) currentVector).setSafe(index, 0, endIndex, tmpBuf);
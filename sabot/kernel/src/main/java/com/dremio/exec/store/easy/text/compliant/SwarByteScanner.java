@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.store.easy.text.compliant;
+
+import io.netty.util.internal.PlatformDependent;
+import java.nio.ByteOrder;
+
+/**
+ * Locates structural bytes (delimiters, newlines) in off-heap memory a 64-bit word at a time using
+ * SWAR ("SIMD within a register") arithmetic, instead of branching on every byte.
+ */
+final class SwarByteScanner {
+  private static final boolean LITTLE_ENDIAN = ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN;
+  private static final long ONES = 0x0101010101010101L;
+  private static final long LOWS = 0x7F7F7F7F7F7F7F7FL;
+
+  private SwarByteScanner() {}
+
+  /**
+   * Finds the first index in [from, to) holding any of the three given bytes.
+   *
+   * @param address memory address of index 0
+   * @param from first index to inspect (inclusive)
+   * @param to last index to inspect (exclusive)
+   * @return index of the first matching byte, or {@code to} if there is none
+   */
+  static int indexOfAny(long address, int from, int to, byte b1, byte b2, byte b3) {
+    final long p1 = broadcast(b1);
+    final long p2 = broadcast(b2);
+    final long p3 = broadcast(b3);
+    int i = from;
+    for (; i + Long.BYTES <= to; i += Long.BYTES) {
+      final long word = PlatformDependent.getLong(address + i);
+      final long mask = zeroBytes(word ^ p1) | zeroBytes(word ^ p2) | zeroBytes(word ^ p3);
+      if (mask != 0) {
+        return i + firstMarkedByte(mask);
+      }
+    }
+    for (; i < to; i++) {
+      final byte b = PlatformDependent.getByte(address + i);
+      if (b == b1 || b == b2 || b == b3) {
+        return i;
+      }
+    }
+    return to;
+  }
+
+  private static long broadcast(byte b) {
+    return (b & 0xFFL) * ONES;
+  }
+
+  /**
+   * Sets the high bit of each zero byte of the word and clears every other bit. Unlike the cheaper
+   * {@code (x - 0x01..) & ~x & 0x80..} form this never marks bytes falsely, so the result is exact
+   * regardless of byte order.
+   */
+  private static long zeroBytes(long word) {
+    return ~(((word & LOWS) + LOWS) | word | LOWS);
+  }
+
+  private static int firstMarkedByte(long mask) {
+    return LITTLE_ENDIAN
+        ? Long.numberOfTrailingZeros(mask) >>> 3
+        : Long.numberOfLeadingZeros(mask) >>> 3;
+  }
+}
@@ -54,6 +54,7 @@ final class TextInput {
   //  private static final int READ_CHARS_LIMIT = 1024*64;
   private final byte[] lineSeparator;
   private final byte normalizedLineSeparator;
+  private final byte fieldDelimiterStart;
   private final TextParsingSettings settings;
 
   private long lineCount;
@@ -125,6 +126,7 @@ final class TextInput {
     this.endPos = endPos;
 
     this.normalizedLineSeparator = normalizedLineSeparator;
+    this.fieldDelimiterStart = settings.getDelimiter()[0];
 
     this.buffer = readBuffer;
     this.bStart = buffer.memoryAddress();
@@ -295,6 +297,45 @@ final class TextInput {
     return byteNType;
   }
 
+  /**
+   * Counts the bytes from the current position that can be consumed without any delimiter check,
+   * i.e. bytes that cannot start a line separator, a normalized newline or a field delimiter. Only
+   * bytes already loaded in the buffer are considered, and the last loaded byte is always left for
+   * {@link #nextChar()} so that buffer refills and split boundaries are handled there.
+   *
+   * @return number of plain bytes available at {@link #currentAddress()}
+   */
+  final int plainRunLength() {
+    if (length == -1) {
+      return 0;
+    }
+    final int from = bufferPtr - 1;
+    final int to = length - 1;
+    if (from >= to) {
+      return 0;
+    }
+    if (BoundsChecking.BOUNDS_CHECKING_ENABLED) {
+      buffer.checkBytes(from, to);
+    }
+    return SwarByteScanner.indexOfAny(
+            bStart, from, to, lineSeparator[0], normalizedLineSeparator, fieldDelimiterStart)
+        - from;
+  }
+
+  /** Memory address of the next byte {@link #nextChar()} would return. */
+  final long currentAddress() {
+    return bStartMinus1 + bufferPtr;
+  }
+
+  /**
+   * Consumes bytes previously measured by {@link #plainRunLength()}.
+   *
+   * @param count number of bytes to skip, must not exceed the last plain run length
+   */
+  final void skipPlainRun(int count) {
+    bufferPtr += count;
+  }
+
   /**
    * Get next byte from stream. Do no maintain any line count Will throw a
    * StreamFinishedPseudoException when the stream has run out of bytes.
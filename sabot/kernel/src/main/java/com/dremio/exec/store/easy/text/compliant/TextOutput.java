@@ -16,6 +16,7 @@
 package com.dremio.exec.store.easy.text.compliant;
 
 import com.dremio.common.exceptions.UserException;
+import io.netty.util.internal.PlatformDependent;
 
 /* Base class for producing output record batches while dealing with
  * Text files.
@@ -73,6 +74,19 @@ abstract class TextOutput {
    */
   public abstract void append(byte data);
 
+  /**
+   * Appends a run of bytes located in off-heap memory. The default implementation appends byte by
+   * byte; outputs that stage field data in a buffer should override it with a bulk copy.
+   *
+   * @param address memory address of the first byte
+   * @param length number of bytes to append
+   */
+  public void append(long address, int length) {
+    for (int i = 0; i < length; i++) {
+      append(PlatformDependent.getByte(address + i));
+    }
+  }
+
   /**
    * Completes the processing of a given record. Also completes the processing of the last field
    * being read.
@@ -163,6 +163,12 @@ final class TextReader implements AutoCloseable {
       }
     }
 
+    public void append(long address, int length) {
+      if (canAppend) {
+        output.append(address, length);
+      }
+    }
+
     public void append(byte[] parameter) {
       if (canAppend) {
         for (byte pByte : parameter) {
@@ -363,6 +369,7 @@ final class TextReader implements AutoCloseable {
           }
         } else {
           output.append(ch);
+          appendPlainRun();
         }
         parseNextChar();
       }
@@ -375,6 +382,18 @@ final class TextReader implements AutoCloseable {
     }
   }
 
+  /**
+   * Bulk-appends the bytes that follow the current one up to the next possible delimiter, so that
+   * long unquoted values are not fed through the per-byte delimiter checks.
+   */
+  private void appendPlainRun() {
+    final int run = input.plainRunLength();
+    if (run > 0) {
+      output.append(input.currentAddress(), run);
+      input.skipPlainRun(run);
+    }
+  }
+
   /**
    * Function invoked when a quote is encountered. Function also handles the unescaped quotes
    * conditionally.
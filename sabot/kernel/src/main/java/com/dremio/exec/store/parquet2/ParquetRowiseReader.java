@@ -34,6 +34,7 @@ import com.dremio.io.file.FileSystem;
 import com.dremio.io.file.Path;
 import com.dremio.sabot.exec.context.OperatorContext;
 import com.dremio.sabot.op.scan.OutputMutator;
+import com.dremio.sabot.op.scan.ScanOperator;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
@@ -117,6 +118,10 @@ public class ParquetRowiseReader extends AbstractParquetReader {
   private VectorizedBasedFilter vectorizedBasedFilter;
   private final BatchSchema tableSchema;
   private final BigIntAutoIncrementer rowIndexGenerator;
+  // number of leaf columns read and their total uncompressed size in the row group, used to
+  // estimate the work saved when rows are skipped based on the deltas vector
+  private int numLeafColumns;
+  private long leafColumnsUncompressedBytes;
 
   public ParquetRowiseReader(
       OperatorContext context,
@@ -413,6 +418,8 @@ public class ParquetRowiseReader extends AbstractParquetReader {
           if (type.isPrimitive()) {
             ColumnChunkMetaData md = paths.get(ColumnPath.get(path));
             pageReadStore.addColumn(schema.getColumnDescription(path), md);
+            numLeafColumns++;
+            leafColumnsUncompressedBytes += md.getTotalUncompressedSize();
           }
         }
 
@@ -710,6 +717,7 @@ public class ParquetRowiseReader extends AbstractParquetReader {
 
   @Override
   public void close() {
+    updateSkippedStats();
     try {
       if (pageReadStore != null) {
         pageReadStore.close();
@@ -720,6 +728,26 @@ public class ParquetRowiseReader extends AbstractParquetReader {
     }
   }
 
+  /**
+   * Reports the values of this reader's columns that were skipped rather than materialized because
+   * the vectorized reader filtered out their rows.
+   */
+  private void updateSkippedStats() {
+    if (vectorizedBasedFilter == null || operatorContext == null || recordCount == 0) {
+      return;
+    }
+    final long skippedRecords = vectorizedBasedFilter.getSkippedRecords();
+    operatorContext
+        .getStats()
+        .addLongStat(ScanOperator.Metric.PARQUET_VALUES_SKIPPED, skippedRecords * numLeafColumns);
+    operatorContext
+        .getStats()
+        .addLongStat(
+            ScanOperator.Metric.PARQUET_BYTES_SKIPPED,
+            (long) ((double) skippedRecords / recordCount * leafColumnsUncompressedBytes));
+    vectorizedBasedFilter = null;
+  }
+
   /**
    * Helper filter class to filter out records based on deltas vector provided by
    * VectorizedParquetReader (ParquetVectorizedReader)
@@ -731,6 +759,7 @@ public class ParquetRowiseReader extends AbstractParquetReader {
     private int runningDelta = Integer.MAX_VALUE;
     private int maxIndex;
     private SimpleIntVector deltas;
+    private long skippedRecords;
 
     public VectorizedBasedFilter(Iterable<ColumnReader> readers, SimpleIntVector deltas) {
       this.readers = readers;
@@ -754,8 +783,13 @@ public class ParquetRowiseReader extends AbstractParquetReader {
         return true;
       }
       runningDelta--;
+      skippedRecords++;
       return false;
     }
+
+    public long getSkippedRecords() {
+      return skippedRecords;
+    }
   }
 
   @Override
@@ -58,24 +58,75 @@ public class AssignmentCreator2<T extends CompleteWork> {
   private final List<WorkWrapper> workList;
   private final Map<String, HostFragments> hostFragmentMap;
   private final long maxSize;
+  // bytes already assigned to each fragment by earlier calls, used only to order fragments
+  private final long[] priorLoads;
 
   public static <T extends CompleteWork> ListMultimap<Integer, T> getMappings(
       List<NodeEndpoint> incomingEndpoints, List<T> units, double balanceFactor) {
+    return getMappings(incomingEndpoints, units, balanceFactor, false);
+  }
+
+  /**
+   * @param balanceByAverage if true, limit the load of a fragment relative to the average load
+   *     (or the largest unit of work, if bigger) instead of the size of the first few units, so
+   *     that a few very large units don't end up on the same fragment
+   */
+  public static <T extends CompleteWork> ListMultimap<Integer, T> getMappings(
+      List<NodeEndpoint> incomingEndpoints,
+      List<T> units,
+      double balanceFactor,
+      boolean balanceByAverage) {
+    return getMappings(incomingEndpoints, units, balanceFactor, balanceByAverage, null);
+  }
+
+  /**
+   * @param priorLoads bytes assigned to each fragment by earlier calls, indexed like {@code
+   *     incomingEndpoints}. Among the fragments work may go to, the ones with the least total load
+   *     are preferred, so that work arriving in several batches stays balanced. May be null.
+   */
+  public static <T extends CompleteWork> ListMultimap<Integer, T> getMappings(
+      List<NodeEndpoint> incomingEndpoints,
+      List<T> units,
+      double balanceFactor,
+      boolean balanceByAverage,
+      long[] priorLoads) {
     checkArgument(incomingEndpoints.size() > 0, "No executors available to assign work.");
     AssignmentCreator2<T> creator =
-        new AssignmentCreator2<>(incomingEndpoints, units, balanceFactor);
+        new AssignmentCreator2<>(
+            incomingEndpoints, units, balanceFactor, balanceByAverage, priorLoads);
     return creator.makeAssignments();
   }
 
-  AssignmentCreator2(List<NodeEndpoint> incomingEndpoints, List<T> units, double balanceFactor) {
+  AssignmentCreator2(
+      List<NodeEndpoint> incomingEndpoints,
+      List<T> units,
+      double balanceFactor,
+      boolean balanceByAverage,
+      long[] priorLoads) {
+    this.priorLoads = priorLoads;
     this.workList = createWorkList(units);
     this.isInstanceAffinity =
         this.workList.isEmpty() ? false : this.workList.get(0).isInstanceAffinity;
-    int unitsPerFragment = (int) Math.ceil(units.size() / (float) incomingEndpoints.size());
-    this.maxSize = (long) (sumOfFirst(units, unitsPerFragment) * balanceFactor);
+    if (balanceByAverage) {
+      this.maxSize = (long) (expectedFragmentSize(units, incomingEndpoints.size()) * balanceFactor);
+    } else {
+      int unitsPerFragment = (int) Math.ceil(units.size() / (float) incomingEndpoints.size());
+      this.maxSize = (long) (sumOfFirst(units, unitsPerFragment) * balanceFactor);
+    }
     this.hostFragmentMap = createHostFragmentsMap(incomingEndpoints);
   }
 
+  private long expectedFragmentSize(List<T> units, int numFragments) {
+    long total = 0;
+    long largest = 0;
+    for (T unit : units) {
+      total += unit.getTotalBytes();
+      largest = Math.max(largest, unit.getTotalBytes());
+    }
+    // no fragment can hold less than the largest unit
+    return Math.max((total + numFragments - 1) / numFragments, largest);
+  }
+
   private long sumOfFirst(List<T> units, int count) {
     long sum = 0;
     for (int i = 0; i < count && i < units.size(); i++) {
@@ -125,6 +176,7 @@ public class AssignmentCreator2<T extends CompleteWork> {
         }
         logger.debug(sb.toString());
       }
+      logSkew(getFragments());
     }
 
     final Pointer<Integer> workCount = new Pointer<>(0);
@@ -144,6 +196,22 @@ public class AssignmentCreator2<T extends CompleteWork> {
     return result;
   }
 
+  private void logSkew(List<FragmentWork> fragments) {
+    long total = 0;
+    long max = 0;
+    for (FragmentWork fragment : fragments) {
+      total += fragment.totalSize;
+      max = Math.max(max, fragment.totalSize);
+    }
+    double average = fragments.isEmpty() ? 0 : total / (double) fragments.size();
+    logger.debug(
+        "Assigned {} bytes to {} fragments. Max fragment: {} bytes, skew (max/avg): {}",
+        total,
+        fragments.size(),
+        max,
+        average == 0 ? 1.0 : max / average);
+  }
+
   /**
    * assign the remaining work units to hosts/fragments based on least load
    *
@@ -324,6 +392,10 @@ public class AssignmentCreator2<T extends CompleteWork> {
       return fragmentQueue.peek().totalSize;
     }
 
+    private long peekLoad() {
+      return fragmentQueue.peek().getLoad();
+    }
+
     /**
      * Add a unit of work to the fragment which currently holds the least work on this host
      *
@@ -337,7 +409,7 @@ public class AssignmentCreator2<T extends CompleteWork> {
 
     @Override
     public int compareTo(HostFragments o) {
-      return Long.compare(peekSize(), o.peekSize());
+      return Long.compare(peekLoad(), o.peekLoad());
     }
   }
 
@@ -346,9 +418,16 @@ public class AssignmentCreator2<T extends CompleteWork> {
     private final int fragmentId;
     private List<WorkWrapper> workList = new ArrayList<>();
     private long totalSize = 0;
+    private final long priorLoad;
 
     private FragmentWork(int fragmentId) {
       this.fragmentId = fragmentId;
+      this.priorLoad =
+          priorLoads != null && fragmentId < priorLoads.length ? priorLoads[fragmentId] : 0;
+    }
+
+    private long getLoad() {
+      return priorLoad + totalSize;
     }
 
     private void addWork(WorkWrapper work) {
@@ -358,7 +437,7 @@ public class AssignmentCreator2<T extends CompleteWork> {
 
     @Override
     public int compareTo(FragmentWork o) {
-      return Long.compare(totalSize, o.totalSize);
+      return Long.compare(getLoad(), o.getLoad());
     }
   }
 
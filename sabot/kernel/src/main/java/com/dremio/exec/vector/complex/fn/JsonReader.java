@@ -86,6 +86,7 @@ public class JsonReader extends BaseJsonProcessor {
   private final int maxLeafLimit;
   private int currentLeafCount;
   private long dataSizeReadSoFar;
+  private long bytesSkipped;
 
   /**
    * Describes whether or not this reader can unwrap a single root array record and treat it like a
@@ -221,6 +222,11 @@ public class JsonReader extends BaseJsonProcessor {
     return dataSizeReadSoFar;
   }
 
+  @Override
+  public long getBytesSkipped() {
+    return bytesSkipped;
+  }
+
   @Override
   public void ensureAtLeastOneField(ComplexWriter writer) {
     List<BaseWriter.StructWriter> writerList = Lists.newArrayList();
@@ -479,16 +485,27 @@ public class JsonReader extends BaseJsonProcessor {
     }
   }
 
+  /**
+   * Skips the value of an unprojected field. The bytes of skipped objects and arrays, from the
+   * opening to the closing bracket, are added to {@link #getBytesSkipped()}. Skipped scalars are
+   * not counted, as the parser doesn't read past the start of some of them, e.g. strings.
+   */
   private void consumeEntireNextValue() throws IOException {
     switch (parser.nextToken()) {
       case START_ARRAY:
       case START_OBJECT:
+        // unprojected subtree, let the tokenizer skip it without building any value
+        final long startOffset = parser.getTokenLocation().getByteOffset();
         parser.skipChildren();
-        return;
+        final long endOffset = parser.getCurrentLocation().getByteOffset();
+        if (startOffset >= 0 && endOffset > startOffset) {
+          bytesSkipped += endOffset - startOffset;
+        }
+        break;
       default:
         // hit a single value, do nothing as the token was already read
         // in the switch statement
-        return;
+        break;
     }
   }
 
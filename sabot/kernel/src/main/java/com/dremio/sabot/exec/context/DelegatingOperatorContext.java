@@ -158,6 +158,11 @@ public class DelegatingOperatorContext extends OperatorContext {
     return delegate.getExecutor();
   }
 
+  @Override
+  public boolean hasExecutor() {
+    return delegate.hasExecutor();
+  }
+
   @Override
   public UserBitShared.QueryId getQueryIdForLocalQuery() {
     return delegate.getQueryIdForLocalQuery();
@@ -109,6 +109,9 @@ public abstract class OperatorContext {
 
   public abstract ExecutorService getExecutor();
 
+  /** Whether {@link #getExecutor()} can be called, as some contexts are built without one. */
+  public abstract boolean hasExecutor();
+
   public abstract QueryId getQueryIdForLocalQuery();
 
   public abstract LogicalPlanPersistence getLpPersistence();
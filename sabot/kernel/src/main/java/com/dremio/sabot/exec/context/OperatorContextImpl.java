@@ -259,6 +259,11 @@ public class OperatorContextImpl extends OperatorContext implements AutoCloseabl
     return executor;
   }
 
+  @Override
+  public boolean hasExecutor() {
+    return executor != null;
+  }
+
   @Override
   public ExpressionSplitCache getExpressionSplitCache() {
     return expressionSplitCache;
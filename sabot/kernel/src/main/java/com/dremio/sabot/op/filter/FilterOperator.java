@@ -55,6 +55,7 @@ public class FilterOperator implements SingleInputOperator {
   private TransferPair[] tx;
   private Stopwatch javaCodeGenWatch = Stopwatch.createUnstarted();
   private Stopwatch gandivaCodeGenWatch = Stopwatch.createUnstarted();
+  private final Stopwatch firstBatchWatch = Stopwatch.createUnstarted();
   private ExpressionSplitter splitter;
 
   public FilterOperator(Filter pop, OperatorContext context) throws OutOfMemoryException {
@@ -72,6 +73,7 @@ public class FilterOperator implements SingleInputOperator {
   @Override
   public VectorAccessible setup(VectorAccessible accessible) throws Exception {
     state.is(State.NEEDS_SETUP);
+    firstBatchWatch.start();
     input = accessible;
 
     switch (input.getSchema().getSelectionVectorMode()) {
@@ -112,6 +114,12 @@ public class FilterOperator implements SingleInputOperator {
     state = State.CAN_CONSUME;
 
     output.setRecordCount(recordCount);
+    if (firstBatchWatch.isRunning()) {
+      firstBatchWatch.stop();
+      context
+          .getStats()
+          .addLongStat(Metric.FIRST_BATCH_TIME, firstBatchWatch.elapsed(TimeUnit.MILLISECONDS));
+    }
     return recordCount;
   }
 
@@ -133,6 +141,14 @@ public class FilterOperator implements SingleInputOperator {
 
   @Override
   public void close() throws Exception {
+    if (splitter != null) {
+      // read at close since Java splits may finish compiling after setup
+      context
+          .getStats()
+          .addLongStat(
+              Metric.JAVA_BUILD_TIME_SAVED,
+              TimeUnit.NANOSECONDS.toMillis(splitter.getJavaCompileNanosSaved()));
+    }
     AutoCloseables.close(output, splitter);
     addDisplayStatsWithZeroValue(context, EnumSet.allOf(Metric.class));
     context
@@ -98,6 +98,8 @@ public class ProjectOperator implements SingleInputOperator {
   private BatchSchema initialSchema;
   private Stopwatch javaCodeGenWatch = Stopwatch.createUnstarted();
   private Stopwatch gandivaCodeGenWatch = Stopwatch.createUnstarted();
+  private final Stopwatch firstBatchWatch = Stopwatch.createUnstarted();
+  private long mainCompileNanosSaved;
 
   public static enum EvalMode {
     DIRECT,
@@ -127,6 +129,7 @@ public class ProjectOperator implements SingleInputOperator {
 
   @Override
   public VectorAccessible setup(VectorAccessible incoming) throws Exception {
+    firstBatchWatch.start();
     this.incoming = incoming;
     this.allocationVectors = Lists.newArrayList();
     final List<NamedExpression> exprs = getExpressionList();
@@ -158,6 +161,7 @@ public class ProjectOperator implements SingleInputOperator {
     splitter.setupProjector(outgoing, javaCodeGenWatch, gandivaCodeGenWatch);
     javaCodeGenWatch.start();
     this.projector = cg.getCodeGenerator().getImplementationClass();
+    mainCompileNanosSaved = cg.getCodeGenerator().getCompileNanosSaved();
     projector.setup(
         context.getFunctionContext(),
         incoming,
@@ -276,6 +280,12 @@ public class ProjectOperator implements SingleInputOperator {
     outgoing.setRecordCount(recordsConsumedCurrentBatch);
 
     state = State.CAN_CONSUME;
+    if (firstBatchWatch.isRunning()) {
+      firstBatchWatch.stop();
+      context
+          .getStats()
+          .addLongStat(Metric.FIRST_BATCH_TIME, firstBatchWatch.elapsed(TimeUnit.MILLISECONDS));
+    }
 
     if (!outgoing.hasSchema()) {
       outgoing.buildSchema(incoming.getSchema().getSelectionVectorMode());
@@ -303,6 +313,15 @@ public class ProjectOperator implements SingleInputOperator {
 
   @Override
   public void close() throws Exception {
+    if (splitter != null) {
+      // read at close since Java splits may finish compiling after setup
+      context
+          .getStats()
+          .addLongStat(
+              Metric.JAVA_BUILD_TIME_SAVED,
+              TimeUnit.NANOSECONDS.toMillis(
+                  mainCompileNanosSaved + splitter.getJavaCompileNanosSaved()));
+    }
     AutoCloseables.close(outgoing, splitter);
     addDisplayStatsWithZeroValue(context, EnumSet.allOf(Metric.class));
     context
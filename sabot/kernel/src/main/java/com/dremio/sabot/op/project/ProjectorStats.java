@@ -43,7 +43,15 @@ public class ProjectorStats {
      * This metric could take one of these 3 values: 0 for built from primary cache 1 for built from
      * secondary cache 2 for code generated using gandiva
      */
-    BUILT_FROM_GANDIVA_CACHE;
+    BUILT_FROM_GANDIVA_CACHE,
+    JAVA_BUILD_TIME_SAVED(
+        DisplayType.DISPLAY_BY_DEFAULT,
+        AggregationType.SUM,
+        "Java compile time (ms) avoided by loading classes from the persistent cache"),
+    FIRST_BATCH_TIME(
+        DisplayType.DISPLAY_BY_DEFAULT,
+        AggregationType.MAX,
+        "Time (ms) from operator setup until its first batch was produced");
 
     private final DisplayType displayType;
     private final AggregationType aggregationType;
@@ -215,6 +215,10 @@ public class ScanOperator implements ProducerOperator {
     NUM_ORPHAN_FILES, // Number of orphan files
     NUM_READERS_SKIPPED, // The number of readers skipped due to errors (COPY INTO 'skip_file')
     DRY_RUN_READ_TIME_NS, // The read time of the dry-run phase (COPY INTO 'skip_file')
+    JSON_BYTES_SKIPPED, // Bytes of unprojected JSON objects and arrays skipped unmaterialized
+    ORC_READ_NS, // Time spent by the ORC reader fetching and decoding stripes into column vectors
+    PARQUET_VALUES_SKIPPED, // Number of parquet values not materialized as their row was filtered
+    PARQUET_BYTES_SKIPPED, // Estimated uncompressed parquet bytes not materialized due to filters
     ;
 
     private final DisplayType displayType;
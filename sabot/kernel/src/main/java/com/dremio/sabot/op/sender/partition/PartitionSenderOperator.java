@@ -106,7 +106,8 @@ public class PartitionSenderOperator extends BaseSender {
     OOB_PARTITION_COUNTERS_RECEIVES, // Number of times operator received a notification of
     // partition counters from peers.
 
-    OOB_DOP; // Adjusted DOP based on oob messages
+    OOB_DOP, // Adjusted DOP based on oob messages
+    OOB_SKEW_DETECTED; // 1 if data skew was detected and rows are distributed round-robin
 
     @Override
     public int metricId() {
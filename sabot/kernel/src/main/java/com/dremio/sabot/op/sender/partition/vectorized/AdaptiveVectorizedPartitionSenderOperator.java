@@ -54,8 +54,12 @@ public class AdaptiveVectorizedPartitionSenderOperator extends VectorizedPartiti
   private static final org.slf4j.Logger logger =
       org.slf4j.LoggerFactory.getLogger(AdaptiveVectorizedPartitionSenderOperator.class);
 
-  // partition value and corresponding counters for current fragment
-  private final Map<Integer, Long> partitionCounters = new HashMap<>();
+  // counters for current fragment, indexed by partition value. Partition values are bounded by
+  // the mod size of the sender, so a plain array avoids boxing on every row.
+  private final long[] partitionCounters;
+
+  // number of partition values with a non-zero counter
+  private int uniquePartitionCount;
 
   private int dop;
 
@@ -121,6 +125,7 @@ public class AdaptiveVectorizedPartitionSenderOperator extends VectorizedPartiti
       final TunnelProvider tunnelProvider,
       final HashPartitionSender config) {
     super(context, tunnelProvider, config);
+    partitionCounters = new long[modSize];
   }
 
   @Override
@@ -149,12 +154,9 @@ public class AdaptiveVectorizedPartitionSenderOperator extends VectorizedPartiti
       return batch;
     }
 
-    long partitionValueCount =
-        partitionCounters.put(partition, partitionCounters.computeIfAbsent(partition, p -> 0L) + 1);
-
-    if (partitionCounters.size() > MAX_PARTITION_COUNT) {
+    long partitionValueCount = partitionCounters[partition]++;
+    if (partitionValueCount == 0 && ++uniquePartitionCount > MAX_PARTITION_COUNT) {
       allowAdaptiveHash = false;
-      partitionCounters.clear();
       return batch;
     }
 
@@ -183,13 +185,13 @@ public class AdaptiveVectorizedPartitionSenderOperator extends VectorizedPartiti
     try {
       ExecProtos.HashDistributionValueCounts.Builder partitionValueCountsBuilder =
           ExecProtos.HashDistributionValueCounts.newBuilder();
-      PriorityQueue<Map.Entry<Integer, Long>> pq = getTopNPartitionCounts();
+      PriorityQueue<Integer> pq = getTopNPartitions();
       while (!pq.isEmpty()) {
-        Map.Entry<Integer, Long> partitionCountPair = pq.poll();
+        int partition = pq.poll();
         ExecProtos.HashDistributionValueCount partitionValueCount =
             ExecProtos.HashDistributionValueCount.newBuilder()
-                .setHashDistributionKey(partitionCountPair.getKey())
-                .setCount(partitionCountPair.getValue())
+                .setHashDistributionKey(partition)
+                .setCount(partitionCounters[partition])
                 .build();
         partitionValueCountsBuilder.addHashDistributionValueCounts(partitionValueCount);
       }
@@ -197,7 +199,7 @@ public class AdaptiveVectorizedPartitionSenderOperator extends VectorizedPartiti
       // total seen records so far
       partitionValueCountsBuilder.setTotalSeenRecords(seenRecords);
       // unique partition values so far
-      partitionValueCountsBuilder.setUniqueValueCount(partitionCounters.size());
+      partitionValueCountsBuilder.setUniqueValueCount(uniquePartitionCount);
 
       OutOfBandMessage.Payload payload =
           new OutOfBandMessage.Payload(partitionValueCountsBuilder.build());
@@ -339,7 +341,7 @@ public class AdaptiveVectorizedPartitionSenderOperator extends VectorizedPartiti
 
     // sort by partition value count in ascending order
     PriorityQueue<Map.Entry<Long, Long>> pq =
-        new PriorityQueue<>((a, b) -> (int) (a.getValue() - b.getValue()));
+        new PriorityQueue<>((a, b) -> Long.compare(a.getValue(), b.getValue()));
     for (Map.Entry<Long, Long> entry : mergedPartitionCounters.entrySet()) {
       pq.offer(entry);
       if (pq.size() > topNPartitions) {
@@ -359,13 +361,16 @@ public class AdaptiveVectorizedPartitionSenderOperator extends VectorizedPartiti
     return initialDop;
   }
 
-  private PriorityQueue<Map.Entry<Integer, Long>> getTopNPartitionCounts() {
+  private PriorityQueue<Integer> getTopNPartitions() {
     // sort by partition value count in ascending order
-    PriorityQueue<Map.Entry<Integer, Long>> pq =
-        new PriorityQueue<>((a, b) -> (int) (a.getValue() - b.getValue()));
+    PriorityQueue<Integer> pq =
+        new PriorityQueue<>((a, b) -> Long.compare(partitionCounters[a], partitionCounters[b]));
 
-    for (Map.Entry<Integer, Long> entry : partitionCounters.entrySet()) {
-      pq.offer(entry);
+    for (int partition = 0; partition < partitionCounters.length; partition++) {
+      if (partitionCounters[partition] == 0) {
+        continue;
+      }
+      pq.offer(partition);
       if (pq.size() > TOP_N_PARTITIONS) {
         pq.poll();
       }
@@ -379,6 +384,7 @@ public class AdaptiveVectorizedPartitionSenderOperator extends VectorizedPartiti
     stats.setLongStat(PartitionSenderOperator.Metric.OOB_PARTITION_COUNTERS_SENDS, oobSends);
     stats.setLongStat(PartitionSenderOperator.Metric.OOB_PARTITION_COUNTERS_RECEIVES, oobReceives);
     stats.setLongStat(PartitionSenderOperator.Metric.OOB_DOP, dop);
+    stats.setLongStat(PartitionSenderOperator.Metric.OOB_SKEW_DETECTED, dop > initialDop ? 1 : 0);
   }
 
   @Override
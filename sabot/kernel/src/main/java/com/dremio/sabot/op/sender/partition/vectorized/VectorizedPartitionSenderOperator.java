@@ -119,7 +119,7 @@ public class VectorizedPartitionSenderOperator extends BaseSender {
   private final OutgoingBatch[] modLookup;
 
   /** number of partitions. Set to the next power of 2 of the number of receivers */
-  private final int modSize;
+  protected final int modSize;
 
   /**
    * holds the (batchIdx, rowIdx) as a compound value for each row that will be copied in the
@@ -316,6 +316,13 @@ public class ExternalSortOperator implements SingleInputOperator, ShrinkableOper
       }
     }
 
+    stats.setLongStat(
+        ExternalSortStats.Metric.SORT_NANOS,
+        vectorSorterStats.get(ExternalSortStats.Metric.SORT_NANOS.name()));
+    stats.setLongStat(
+        ExternalSortStats.Metric.SORTED_RECORDS,
+        vectorSorterStats.get(ExternalSortStats.Metric.SORTED_RECORDS.name()));
+
     if (vectorSorter.diskStatsAvailable()) {
       stats.setLongStat(
           ExternalSortStats.Metric.SPILL_COUNT,
@@ -67,6 +67,14 @@ public class ExternalSortStats {
 
     OOM_ALLOCATE_COUNT,
     OOM_COPY_COUNT,
+    SORT_NANOS(
+        DisplayType.DISPLAY_BY_DEFAULT,
+        AggregationType.SUM,
+        "Time spent ordering records in memory runs"),
+    SORTED_RECORDS(
+        DisplayType.DISPLAY_BY_DEFAULT,
+        AggregationType.SUM,
+        "Number of records ordered in memory runs"),
     ;
 
     private final UserBitShared.MetricDef.DisplayType displayType;
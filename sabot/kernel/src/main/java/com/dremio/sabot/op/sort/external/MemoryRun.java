@@ -34,9 +34,11 @@ import com.dremio.sabot.op.copier.Copier;
 import com.dremio.sabot.op.copier.CopierOperator;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.base.Stopwatch;
 import com.google.common.collect.Lists;
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import org.apache.arrow.memory.BufferAllocator;
 import org.apache.arrow.memory.OutOfMemoryException;
 import org.apache.arrow.vector.types.pojo.Schema;
@@ -71,6 +73,8 @@ class MemoryRun implements AutoCloseable {
   private long maxBatchSize;
   private int recordLength;
   private int size;
+  private long sortNanos;
+  private long sortedRecords;
 
   private BufferAllocator copyTargetAllocator;
   private long copyTargetSize;
@@ -234,6 +238,15 @@ class MemoryRun implements AutoCloseable {
     return recordLength;
   }
 
+  /** Time spent producing the final sort order of the records in this run */
+  public long getSortNanos() {
+    return sortNanos;
+  }
+
+  public long getSortedRecords() {
+    return sortedRecords;
+  }
+
   @Override
   public void close() throws Exception {
     final List<AutoCloseable> closeables = Lists.newArrayList();
@@ -290,7 +303,10 @@ class MemoryRun implements AutoCloseable {
   private SelectionVector4 closeToContainer(VectorContainer container, int targetBatchSize) {
     injector.injectChecked(executionControls, INJECTOR_OOM_ON_SORT, OutOfMemoryException.class);
 
+    final Stopwatch watch = Stopwatch.createStarted();
     SelectionVector4 sv4 = sorter.getFinalSort(copyTargetAllocator, targetBatchSize);
+    sortNanos += watch.elapsed(TimeUnit.NANOSECONDS);
+    sortedRecords += sv4.getTotalCount();
     for (VectorWrapper<?> w : sorter.getHyperBatch()) {
       container.add(w.getValueVectors());
     }
@@ -21,28 +21,37 @@ import com.dremio.exec.exception.SchemaChangeException;
 import com.dremio.exec.record.VectorAccessible;
 import com.dremio.exec.record.VectorContainer;
 import com.dremio.exec.record.VectorWrapper;
-import com.dremio.exec.record.selection.SelectionVector4;
 import com.dremio.sabot.exec.context.FunctionContext;
 import com.dremio.sabot.op.sort.external.DiskRunManager.DiskRunIterator;
 import com.google.common.collect.Iterables;
 import java.io.IOException;
 import javax.inject.Named;
-import org.apache.arrow.memory.ArrowBuf;
 import org.apache.arrow.memory.BufferAllocator;
 import org.apache.arrow.memory.OutOfMemoryException;
 import org.apache.arrow.vector.DensityAwareVector;
 import org.apache.arrow.vector.ValueVector;
 
+/**
+ * Merges sorted disk runs using a tournament tree of losers. Each node of the tree holds the run
+ * that lost the comparison at that node, and the overall winner is kept separately. After the
+ * winner is copied and its run advanced, only the path from its leaf to the root is replayed, which
+ * takes a single comparison per level, about half the comparisons of sifting down a binary heap.
+ */
 public abstract class PriorityQueueCopierTemplate implements PriorityQueueCopier {
   private static final org.slf4j.Logger logger =
       org.slf4j.LoggerFactory.getLogger(PriorityQueueCopierTemplate.class);
 
-  private SelectionVector4 vector4;
   private DiskRunIterator[] iterators;
   private Sv4HyperContainer incoming;
   private VectorContainer outgoing;
   private int size;
-  private int queueSize = 0;
+  // number of runs that still have records
+  private int remaining = 0;
+  // compound index (run << 16 | record) of the current record of each run, -1 once exhausted
+  private int[] heads;
+  // tree[0] is the winning run, tree[1..size-1] the losing run at each internal node. The leaf of
+  // run i is node size + i.
+  private int[] tree;
 
   /**
    * Last density parameter used to successfully allocate memory for outgoing vectors. We keep track
@@ -60,18 +69,25 @@ public abstract class PriorityQueueCopierTemplate implements PriorityQueueCopier
       throws SchemaChangeException, IOException {
     this.incoming = new Sv4HyperContainer(allocator, incoming.getSchema());
     this.size = iterators.length;
-    final ArrowBuf arrowBuf = allocator.buffer(4 * size);
-    this.vector4 = new SelectionVector4(arrowBuf, size, Character.MAX_VALUE);
     this.iterators = iterators;
     this.outgoing = outgoing;
 
     doSetup(context, incoming, outgoing);
 
-    queueSize = 0;
+    heads = new int[size];
+    remaining = 0;
     for (int i = 0; i < size; i++) {
-      vector4.set(i, i, iterators[i].getNextId());
-      siftUp();
-      queueSize++;
+      final int nextIndex = iterators[i].getNextId();
+      if (nextIndex < 0) {
+        heads[i] = -1;
+      } else {
+        heads[i] = (i << 16) | (nextIndex & 65535);
+        remaining++;
+      }
+    }
+    tree = new int[size];
+    if (size > 0) {
+      tree[0] = build(1);
     }
   }
 
@@ -82,27 +98,21 @@ public abstract class PriorityQueueCopierTemplate implements PriorityQueueCopier
     try {
       for (; outgoingIndex < targetRecordCount; outgoingIndex++) {
 
-        if (queueSize == 0) {
+        if (remaining == 0) {
           return 0;
         }
 
-        final int compoundIndex = vector4.get(0);
-        final int batch = compoundIndex >>> 16;
-        assert batch < iterators.length
-            : String.format("batch: %d batchGroups: %d", batch, iterators.length);
-        doCopy(compoundIndex, outgoingIndex);
-
-        int nextIndex = iterators[batch].getNextId();
-        if (nextIndex < 0) {
-          vector4.set(0, vector4.get(--queueSize));
-        } else {
-          vector4.set(0, batch, nextIndex);
-        }
-        if (queueSize == 0) {
+        final int run = tree[0];
+        assert run < iterators.length
+            : String.format("batch: %d batchGroups: %d", run, iterators.length);
+        doCopy(heads[run], outgoingIndex);
+
+        advance(run);
+        if (remaining == 0) {
           setValueCount(++outgoingIndex);
           return outgoingIndex;
         }
-        siftDown();
+        replay(run);
       }
       setValueCount(targetRecordCount);
       return targetRecordCount;
@@ -134,22 +144,60 @@ public abstract class PriorityQueueCopierTemplate implements PriorityQueueCopier
   public void close() throws Exception {
     AutoCloseables.close(
         Iterables.concat(
-            AutoCloseables.iter(vector4),
             AutoCloseables.iter(outgoing),
             incoming,
             AutoCloseables.iter(iterators)));
   }
 
-  private void siftUp() {
-    int p = queueSize;
-    while (p > 0) {
-      if (compare(p, (p - 1) / 2) < 0) {
-        swap(p, (p - 1) / 2);
-        p = (p - 1) / 2;
-      } else {
-        break;
+  /** Move the given run to its next record, or mark it exhausted if there are none left. */
+  private void advance(int run) throws IOException {
+    final int nextIndex = iterators[run].getNextId();
+    if (nextIndex < 0) {
+      heads[run] = -1;
+      remaining--;
+    } else {
+      heads[run] = (run << 16) | (nextIndex & 65535);
+    }
+  }
+
+  /** Play the matches of the subtree rooted at the given node, returning its winner. */
+  private int build(int node) {
+    if (node >= size) {
+      return node - size;
+    }
+    final int left = build(node * 2);
+    final int right = build(node * 2 + 1);
+    if (beats(left, right)) {
+      tree[node] = right;
+      return left;
+    }
+    tree[node] = left;
+    return right;
+  }
+
+  /** Replay the matches from the leaf of the given run, the last winner, up to the root. */
+  private void replay(int run) {
+    int winner = run;
+    for (int node = (run + size) >>> 1; node > 0; node >>>= 1) {
+      final int loser = tree[node];
+      if (beats(loser, winner)) {
+        tree[node] = winner;
+        winner = loser;
       }
     }
+    tree[0] = winner;
+  }
+
+  /** Whether the current record of the first run sorts before that of the second. */
+  private boolean beats(int run, int other) {
+    if (heads[run] < 0) {
+      return false;
+    }
+    if (heads[other] < 0) {
+      return true;
+    }
+    final int cmp = doEval(heads[run], heads[other]);
+    return cmp < 0 || (cmp == 0 && run < other);
   }
 
   private void allocateVectors(int targetRecordCount) {
@@ -186,43 +234,6 @@ public abstract class PriorityQueueCopierTemplate implements PriorityQueueCopier
     }
   }
 
-  private void siftDown() {
-    int p = 0;
-    int next;
-    while (p * 2 + 1 < queueSize) { // While the current node has at least one child
-      if (p * 2 + 2 >= queueSize) { // if current node has only one child, then we only look at it
-        next = p * 2 + 1;
-      } else {
-        if (compare(p * 2 + 1, p * 2 + 2)
-            <= 0) { // if current node has two children, we must first determine which one has
-          // higher priority
-          next = p * 2 + 1;
-        } else {
-          next = p * 2 + 2;
-        }
-      }
-      if (compare(p, next)
-          > 0) { // compare current node to highest priority child and swap if necessary
-        swap(p, next);
-        p = next;
-      } else {
-        break;
-      }
-    }
-  }
-
-  public void swap(int sv0, int sv1) {
-    int tmp = vector4.get(sv0);
-    vector4.set(sv0, vector4.get(sv1));
-    vector4.set(sv1, tmp);
-  }
-
-  public int compare(int leftIndex, int rightIndex) {
-    int sv1 = vector4.get(leftIndex);
-    int sv2 = vector4.get(rightIndex);
-    return doEval(sv1, sv2);
-  }
-
   public abstract void doSetup(
       @Named("context") FunctionContext context,
       @Named("incoming") VectorAccessible incoming,
@@ -24,8 +24,10 @@ import com.dremio.exec.record.selection.SelectionVector2;
 import com.dremio.exec.record.selection.SelectionVector4;
 import com.dremio.sabot.exec.context.FunctionContext;
 import com.google.common.base.Stopwatch;
+import io.netty.util.internal.PlatformDependent;
 import java.util.concurrent.TimeUnit;
 import javax.inject.Named;
+import org.apache.arrow.memory.ArrowBuf;
 import org.apache.arrow.memory.BufferAllocator;
 import org.apache.arrow.vector.SimpleIntVector;
 import org.apache.hadoop.util.IndexedSortable;
@@ -39,6 +41,8 @@ public abstract class QuickSorterTemplate implements QuickSorterInterface, Index
   private ExpandableHyperContainer hyperBatch;
   private SimpleIntVector intVector;
   private int totalCount;
+  // address of the data buffer of intVector, the buffer is not reallocated while sorting
+  private long sortAddress;
 
   @Override
   public void init(FunctionContext context, ExpandableHyperContainer hyperContainer)
@@ -85,16 +89,18 @@ public abstract class QuickSorterTemplate implements QuickSorterInterface, Index
     Stopwatch watch = Stopwatch.createStarted();
 
     intVector.setValueCount(totalCount);
-    QuickSort qs = new QuickSort();
     if (totalCount > 0) {
+      sortAddress = intVector.getBufferAddress();
+      QuickSort qs = new QuickSort();
       qs.sort(this, 0, totalCount);
     }
-
-    SelectionVector4 finalSortedSV4 =
-        new SelectionVector4(allocator.buffer(totalCount * 4), totalCount, targetBatchSize);
-    for (int i = 0; i < totalCount; i++) {
-      finalSortedSV4.set(i, intVector.get(i));
+    // allocated once sorting succeeded, so a failing comparison doesn't leak it
+    final ArrowBuf sortedBuffer = allocator.buffer(totalCount * 4L);
+    if (totalCount > 0) {
+      PlatformDependent.copyMemory(sortAddress, sortedBuffer.memoryAddress(), totalCount * 4L);
     }
+    SelectionVector4 finalSortedSV4 =
+        new SelectionVector4(sortedBuffer, totalCount, targetBatchSize);
 
     logger.debug(
         "Took {} us to final sort {} records in {} batches",
@@ -117,15 +123,17 @@ public abstract class QuickSorterTemplate implements QuickSorterInterface, Index
 
   @Override
   public void swap(int val1, int val2) {
-    final int tmpVal = intVector.get(val1);
-    intVector.set(val1, intVector.get(val2));
-    intVector.set(val2, tmpVal);
+    final long addr1 = sortAddress + val1 * 4L;
+    final long addr2 = sortAddress + val2 * 4L;
+    final int tmpVal = PlatformDependent.getInt(addr1);
+    PlatformDependent.putInt(addr1, PlatformDependent.getInt(addr2));
+    PlatformDependent.putInt(addr2, tmpVal);
   }
 
   @Override
   public int compare(int leftIndex, int rightIndex) {
-    final int leftVal = intVector.get(leftIndex);
-    final int rightVal = intVector.get(rightIndex);
+    final int leftVal = PlatformDependent.getInt(sortAddress + leftIndex * 4L);
+    final int rightVal = PlatformDependent.getInt(sortAddress + rightIndex * 4L);
     return doEval(leftVal, rightVal);
   }
 
@@ -81,6 +81,8 @@ public class VectorSorter implements AutoCloseable {
   private static final String OOM_ALLOCATE_COUNT = "OOM_ALLOCATE_COUNT";
   private static final String OOM_COPY_COUNT = "OOM_COPY_COUNT";
   private static final String SPILL_COPY_NANOS = "SPILL_COPY_NANOS";
+  private static final String SORT_NANOS = "SORT_NANOS";
+  private static final String SORTED_RECORDS = "SORTED_RECORDS";
 
   private final int targetBatchSize;
   private final OperatorContext context;
@@ -99,6 +101,9 @@ public class VectorSorter implements AutoCloseable {
   private VectorSortTracer tracer;
 
   private int maxBatchesInMemory = 0;
+  // totals over all the memory runs that were sorted
+  private long sortNanos = 0;
+  private long sortedRecords = 0;
   private int batchsizeMultiplier;
   private boolean enableSplaySort;
   private boolean enableMicroSpill;
@@ -338,6 +343,7 @@ public class VectorSorter implements AutoCloseable {
     if (!isSpillAllowed || diskRuns.isEmpty()) { // no spills
 
       copier = memoryRun.closeToCopier(output, targetBatchSize);
+      addSortStats(memoryRun);
       sortState = SortState.COPY_FROM_MEMORY;
 
     } else { // some spills
@@ -349,6 +355,7 @@ public class VectorSorter implements AutoCloseable {
         if (!enableMicroSpill) {
           try {
             memoryRun.closeToDisk(diskRuns);
+            addSortStats(memoryRun);
           } catch (Exception ex) {
             throw UserException.dataWriteError(ex)
                 .message("Failure while attempting to spill sort data to disk.")
@@ -595,6 +602,9 @@ public class VectorSorter implements AutoCloseable {
       stats.put(PEAK_BATCHES_IN_MEMORY, (long) maxBatchesInMemory);
     }
 
+    stats.put(SORT_NANOS, sortNanos);
+    stats.put(SORTED_RECORDS, sortedRecords);
+
     if (diskStatsAvailable) {
       stats.put(SPILL_COUNT, (long) diskRuns.spillCount());
       stats.put(MERGE_COUNT, (long) diskRuns.mergeCount());
@@ -623,6 +633,11 @@ public class VectorSorter implements AutoCloseable {
     return stats;
   }
 
+  private void addSortStats(MemoryRun run) {
+    sortNanos += run.getSortNanos();
+    sortedRecords += run.getSortedRecords();
+  }
+
   /**
    * A VectorSorter-exclusive stat updater.
    *
@@ -656,6 +671,7 @@ public class VectorSorter implements AutoCloseable {
 
     try {
       memoryRun.closeToDisk(diskRuns);
+      addSortStats(memoryRun);
       memoryRun =
           new MemoryRun(
               sortOrderings,
@@ -685,6 +701,7 @@ public class VectorSorter implements AutoCloseable {
     try {
       // sorts the records & prepares the hypercontainer
       memoryRun.startMicroSpilling(diskRuns);
+      addSortStats(memoryRun);
     } catch (Exception e) {
       UserException.Builder builder = UserException.memoryError(e);
       context.getNodeDebugContextProvider().addErrorOrigin(builder);
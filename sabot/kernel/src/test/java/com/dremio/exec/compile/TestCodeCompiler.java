@@ -16,7 +16,11 @@
 package com.dremio.exec.compile;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -30,6 +34,11 @@ import com.dremio.options.OptionManager;
 import com.dremio.sabot.exec.context.CompilationOptions;
 import com.dremio.sabot.exec.context.FunctionContext;
 import com.dremio.sabot.rpc.user.UserSession;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
@@ -76,6 +85,66 @@ public class TestCodeCompiler extends BaseTestQuery {
     assertNotEquals(clazz1.getClass(), clazz2.getClass());
   }
 
+  @Test
+  public void checkAsyncCompilationsAreShared() {
+    final TemplateClassDefinition<ExampleInner> template =
+        new TemplateClassDefinition<>(ExampleInner.class, ExampleTemplateWithInner.class);
+    final Queue<Runnable> compilations = new ArrayDeque<>();
+
+    final CompletableFuture<ExampleTemplateWithInner> first =
+        codeCompiler.getImplementationClassAsync(
+            newCodeGenerator(template, "System.out.println(\"shared\");"), compilations::add);
+    final CompletableFuture<ExampleTemplateWithInner> second =
+        codeCompiler.getImplementationClassAsync(
+            newCodeGenerator(template, "System.out.println(\"shared\");"), compilations::add);
+    assertEquals(1, compilations.size());
+    assertFalse(first.isDone());
+    assertFalse(second.isDone());
+
+    compilations.remove().run();
+    assertSame(first.join().getClass(), second.join().getClass());
+
+    // later requests are served from the cache without compiling again
+    final CompletableFuture<ExampleTemplateWithInner> third =
+        codeCompiler.getImplementationClassAsync(
+            newCodeGenerator(template, "System.out.println(\"shared\");"), compilations::add);
+    assertTrue(compilations.isEmpty());
+    assertSame(first.join().getClass(), third.join().getClass());
+  }
+
+  @Test
+  public void checkAsyncCompilationFailureIsPropagated() {
+    final TemplateClassDefinition<ExampleInner> template =
+        new TemplateClassDefinition<>(ExampleInner.class, ExampleTemplateWithInner.class);
+    final Queue<Runnable> compilations = new ArrayDeque<>();
+
+    final CompletableFuture<ExampleTemplateWithInner> first =
+        codeCompiler.getImplementationClassAsync(
+            newCodeGenerator(template, "not valid java;"), compilations::add);
+    final CompletableFuture<ExampleTemplateWithInner> second =
+        codeCompiler.getImplementationClassAsync(
+            newCodeGenerator(template, "not valid java;"), compilations::add);
+    assertEquals(1, compilations.size());
+    compilations.remove().run();
+
+    for (CompletableFuture<ExampleTemplateWithInner> future : Arrays.asList(first, second)) {
+      final CompletionException e = assertThrows(CompletionException.class, future::join);
+      assertTrue(e.getCause() instanceof ClassTransformationException);
+    }
+
+    // failures are not cached, the next request compiles again
+    codeCompiler.getImplementationClassAsync(
+        newCodeGenerator(template, "not valid java;"), compilations::add);
+    assertEquals(1, compilations.size());
+  }
+
+  private <T> CodeGenerator<T> newCodeGenerator(
+      TemplateClassDefinition<T> template, String setupStatement) {
+    final CodeGenerator<T> cg = newCodeGenerator(template, false);
+    cg.getRoot().getSetupBlock().directStatement(setupStatement);
+    return cg;
+  }
+
   private <T, X extends T> CodeGenerator<T> newCodeGenerator(
       TemplateClassDefinition<T> template, boolean withInner) {
     CompilationOptions compilationOptions = mock(CompilationOptions.class);
@@ -0,0 +1,211 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.compile;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+import com.dremio.common.util.DremioVersionInfo;
+import com.dremio.exec.hadoop.HadoopFileSystem;
+import com.dremio.io.file.FileSystem;
+import com.dremio.io.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.hadoop.conf.Configuration;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/** Tests for {@link PersistentClassCache} */
+public class TestPersistentClassCache {
+  @Rule public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private FileSystem fs;
+  private Path root;
+
+  @Before
+  public void setup() throws Exception {
+    fs = HadoopFileSystem.getLocal(new Configuration());
+    root = Path.of(temporaryFolder.getRoot().toURI());
+  }
+
+  private Path nodePath(String nodeName) {
+    return Path.mergePaths(root, Path.of(DremioVersionInfo.getVersion())).resolve(nodeName);
+  }
+
+  private static PersistentClassCache.Entry newEntry(String className) {
+    final ClassBytes[] classes = {
+      new ClassBytes(className, new byte[] {1, 2, 3}),
+      new ClassBytes(className + "$Inner", new byte[] {4, 5})
+    };
+    return new PersistentClassCache.Entry(className, classes, 42);
+  }
+
+  private static PersistentClassCache.Entry awaitEntry(PersistentClassCache cache, String key)
+      throws InterruptedException {
+    PersistentClassCache.Entry entry = cache.get(key);
+    for (int i = 0; i < 100 && entry == null; i++) {
+      Thread.sleep(50);
+      entry = cache.get(key);
+    }
+    assertNotNull(entry);
+    return entry;
+  }
+
+  @Test
+  public void testKeyDependsOnAllInputs() {
+    final String key = PersistentClassCache.key("Template", "janino", "class A {}");
+    assertEquals(key, PersistentClassCache.key("Template", "janino", "class A {}"));
+    assertNotEquals(key, PersistentClassCache.key("Other", "janino", "class A {}"));
+    assertNotEquals(key, PersistentClassCache.key("Template", "jdk", "class A {}"));
+    assertNotEquals(key, PersistentClassCache.key("Template", "janino", "class B {}"));
+  }
+
+  @Test
+  public void testRoundTrip() throws Exception {
+    final PersistentClassCache cache =
+        new PersistentClassCache(fs, root, "node1", () -> Long.MAX_VALUE);
+    final String key = PersistentClassCache.key("Template", "janino", "class A {}");
+    assertNull(cache.get(key));
+
+    final PersistentClassCache.Entry written = newEntry("com.dremio.s.A");
+    cache.put(key, written);
+
+    final PersistentClassCache.Entry entry = awaitEntry(cache, key);
+    assertEquals("com.dremio.s.A", entry.getClassName());
+    assertEquals(42, entry.getCompileNanos());
+    assertEquals(2, entry.getClasses().length);
+    for (int i = 0; i < written.getClasses().length; i++) {
+      assertEquals(written.getClasses()[i].getName(), entry.getClasses()[i].getName());
+      assertArrayEquals(written.getClasses()[i].getBytes(), entry.getClasses()[i].getBytes());
+    }
+  }
+
+  @Test
+  public void testEntriesStoredByOtherExecutorsAreListed() throws Exception {
+    final PersistentClassCache writer =
+        new PersistentClassCache(fs, root, "node1", () -> Long.MAX_VALUE);
+    final String key = PersistentClassCache.key("Template", "janino", "class A {}");
+    writer.put(key, newEntry("com.dremio.s.A"));
+    awaitEntry(writer, key);
+
+    // another executor finds the entry through the initial listing
+    final PersistentClassCache reader =
+        new PersistentClassCache(fs, root, "node2", () -> Long.MAX_VALUE);
+    assertEquals("com.dremio.s.A", awaitEntry(reader, key).getClassName());
+  }
+
+  @Test
+  public void testUnknownKeysDoNotProbeFileSystem() throws Exception {
+    final FileSystem spyFs = spy(fs);
+    final PersistentClassCache cache =
+        new PersistentClassCache(spyFs, root, "node1", () -> Long.MAX_VALUE);
+    cache.refresh();
+
+    for (int i = 0; i < 10; i++) {
+      assertNull(cache.get(PersistentClassCache.key("Template", "janino", "class A" + i + " {}")));
+    }
+    verify(spyFs, never()).exists(any());
+    verify(spyFs, never()).open(any());
+  }
+
+  @Test
+  public void testEvictsLeastRecentlyUsedEntries() throws Exception {
+    final AtomicLong maxBytes = new AtomicLong(Long.MAX_VALUE);
+    final PersistentClassCache cache = new PersistentClassCache(fs, root, "node1", maxBytes::get);
+    final String key1 = PersistentClassCache.key("Template", "janino", "class A {}");
+    final String key2 = PersistentClassCache.key("Template", "janino", "class B {}");
+    final String key3 = PersistentClassCache.key("Template", "janino", "class C {}");
+    cache.put(key1, newEntry("com.dremio.s.A"));
+    cache.put(key2, newEntry("com.dremio.s.B"));
+    cache.put(key3, newEntry("com.dremio.s.C"));
+    awaitEntry(cache, key1);
+    awaitEntry(cache, key2);
+    awaitEntry(cache, key3);
+    final long entrySize = cache.getTotalBytes() / 3;
+
+    // key2 becomes the least recently used entry
+    cache.get(key1);
+
+    maxBytes.set(2 * entrySize);
+    cache.refresh();
+
+    assertEquals(2 * entrySize, cache.getTotalBytes());
+    assertNull(cache.get(key2));
+    assertFalse(fs.exists(nodePath("node1").resolve(key2)));
+    assertNotNull(cache.get(key1));
+    assertNotNull(cache.get(key3));
+  }
+
+  @Test
+  public void testOnlyEvictsOwnEntries() throws Exception {
+    final PersistentClassCache other = new PersistentClassCache(fs, root, "node2", () -> 0L);
+    final PersistentClassCache cache =
+        new PersistentClassCache(fs, root, "node1", () -> Long.MAX_VALUE);
+    final String key1 = PersistentClassCache.key("Template", "janino", "class A {}");
+    final String key2 = PersistentClassCache.key("Template", "janino", "class B {}");
+    cache.put(key1, newEntry("com.dremio.s.A"));
+    awaitEntry(cache, key1);
+    cache.put(key2, newEntry("com.dremio.s.B"));
+    awaitEntry(cache, key2);
+
+    // a node with no room left knows the entries of node1, but never deletes them
+    other.refresh();
+    assertNotNull(other.get(key1));
+    assertEquals(0, other.getTotalBytes());
+    assertTrue(fs.exists(nodePath("node1").resolve(key1)));
+    assertTrue(fs.exists(nodePath("node1").resolve(key2)));
+  }
+
+  @Test
+  public void testRestartedExecutorEvictsItsOwnEntries() throws Exception {
+    final PersistentClassCache writer =
+        new PersistentClassCache(fs, root, "node1", () -> Long.MAX_VALUE);
+    final String key = PersistentClassCache.key("Template", "janino", "class A {}");
+    writer.put(key, newEntry("com.dremio.s.A"));
+    awaitEntry(writer, key);
+    writer.close();
+
+    final AtomicLong maxBytes = new AtomicLong(Long.MAX_VALUE);
+    final PersistentClassCache restarted =
+        new PersistentClassCache(fs, root, "node1", maxBytes::get);
+    awaitEntry(restarted, key);
+    assertNotEquals(0, restarted.getTotalBytes());
+
+    maxBytes.set(0);
+    restarted.refresh();
+    assertNull(restarted.get(key));
+    assertFalse(fs.exists(nodePath("node1").resolve(key)));
+  }
+
+  @Test
+  public void testPutAfterCloseIsIgnored() throws Exception {
+    final PersistentClassCache cache =
+        new PersistentClassCache(fs, root, "node1", () -> Long.MAX_VALUE);
+    cache.close();
+    cache.put(PersistentClassCache.key("Template", "janino", "class A {}"), newEntry("A"));
+    assertEquals(0, cache.getTotalBytes());
+  }
+}
@@ -77,6 +77,11 @@ public class BaseExpressionSplitterTest extends BaseTestFunction {
   private static final org.slf4j.Logger logger =
       org.slf4j.LoggerFactory.getLogger(BaseExpressionSplitterTest.class);
 
+  protected OperatorContextImpl newOperatorContext(
+      BufferAllocator allocator, Project pop, int batchSize) throws Exception {
+    return testContext.getNewOperatorContext(allocator, pop, batchSize);
+  }
+
   @Before
   public void cleanExpToExpSplitCache() {
     testContext.invalidateExpToExpSplitsCache();
@@ -131,8 +136,7 @@ public class BaseExpressionSplitterTest extends BaseTestFunction {
             pop.getProps().getMemLimit() == 0 ? Long.MAX_VALUE : pop.getProps().getMemLimit());
 
     int batchSize = 1;
-    final OperatorContextImpl context =
-        testContext.getNewOperatorContext(childAllocator, pop, batchSize);
+    final OperatorContextImpl context = newOperatorContext(childAllocator, pop, batchSize);
     testCloseables.add(context);
 
     // materialize expression
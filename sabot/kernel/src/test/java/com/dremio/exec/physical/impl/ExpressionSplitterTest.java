@@ -22,13 +22,23 @@ import static com.dremio.sabot.Fixtures.th;
 import static com.dremio.sabot.Fixtures.tr;
 import static com.dremio.sabot.Fixtures.ts;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.spy;
 
+import com.dremio.exec.ExecConstants;
+import com.dremio.exec.physical.config.Project;
+import com.dremio.options.OptionValue;
 import com.dremio.sabot.Fixtures;
+import com.dremio.sabot.exec.context.OperatorContextImpl;
 import java.util.List;
+import org.apache.arrow.memory.BufferAllocator;
 import org.junit.Test;
 
 /** Unit test cases for the expression splitter */
 public class ExpressionSplitterTest extends BaseExpressionSplitterTest {
+  private boolean withoutExecutor;
+
   String ifQuery = "case when c0 > c1 then c0 - c1 else c1 + c0 end";
 
   // Evaluates the expression with a batch size of 2 for the inputs below
@@ -119,6 +129,101 @@ public class ExpressionSplitterTest extends BaseExpressionSplitterTest {
     splitAndVerify(ifQuery, ifInput, ifOutput, expSplits, annotator);
   }
 
+  @Test
+  public void splitThenJavaAsyncCompile() throws Exception {
+    GandivaAnnotator annotator = new GandivaAnnotator("greater_than", "add");
+
+    Split[] expSplits =
+        new Split[] {
+          new Split(true, "_xxx0", "greater_than(c0, c1)", 1, 2),
+          new Split(
+              true,
+              "_xxx1",
+              "(if (_xxx0) then (cast((__$internal_null$__) as int)) else (add(c1, c0)) end)",
+              2,
+              1,
+              "_xxx0"),
+          new Split(
+              false,
+              "_xxx2",
+              "(if (_xxx0) then (subtract(c0, c1)) else (_xxx1) end)",
+              3,
+              0,
+              "_xxx0",
+              "_xxx1")
+        };
+
+    // the Java split is compiled in the background and awaited by the first batch
+    testContext.invalidateExpToCompiledClazzCacheInCodeCompiler();
+    setAsyncCompile(true);
+    try {
+      splitAndVerify(ifQuery, ifInput, ifOutput, expSplits, annotator);
+    } finally {
+      setAsyncCompile(false);
+    }
+  }
+
+  @Test
+  public void javaAsyncCompileWithoutExecutor() throws Exception {
+    GandivaAnnotator annotator = new GandivaAnnotator("greater_than", "add");
+
+    Split[] expSplits =
+        new Split[] {
+          new Split(true, "_xxx0", "greater_than(c0, c1)", 1, 2),
+          new Split(
+              true,
+              "_xxx1",
+              "(if (_xxx0) then (cast((__$internal_null$__) as int)) else (add(c1, c0)) end)",
+              2,
+              1,
+              "_xxx0"),
+          new Split(
+              false,
+              "_xxx2",
+              "(if (_xxx0) then (subtract(c0, c1)) else (_xxx1) end)",
+              3,
+              0,
+              "_xxx0",
+              "_xxx1")
+        };
+
+    // contexts built without an executor compile the Java split in the calling thread
+    testContext.invalidateExpToCompiledClazzCacheInCodeCompiler();
+    setAsyncCompile(true);
+    withoutExecutor = true;
+    try {
+      splitAndVerify(ifQuery, ifInput, ifOutput, expSplits, annotator);
+    } finally {
+      withoutExecutor = false;
+      setAsyncCompile(false);
+    }
+  }
+
+  @Override
+  protected OperatorContextImpl newOperatorContext(
+      BufferAllocator allocator, Project pop, int batchSize) throws Exception {
+    final OperatorContextImpl context = super.newOperatorContext(allocator, pop, batchSize);
+    if (!withoutExecutor) {
+      return context;
+    }
+    final OperatorContextImpl noExecutor = spy(context);
+    doReturn(false).when(noExecutor).hasExecutor();
+    doThrow(new UnsupportedOperationException("Operator context does not have an executor"))
+        .when(noExecutor)
+        .getExecutor();
+    return noExecutor;
+  }
+
+  private static void setAsyncCompile(boolean enabled) {
+    testContext
+        .getOptions()
+        .setOption(
+            OptionValue.createBoolean(
+                OptionValue.OptionType.SYSTEM,
+                ExecConstants.ENABLE_JAVA_ASYNC_COMPILE.getOptionName(),
+                enabled));
+  }
+
   @Test
   public void splitThenGandiva() throws Exception {
     GandivaAnnotator annotator = new GandivaAnnotator("subtract");
@@ -27,6 +27,7 @@ import com.dremio.exec.planner.acceleration.descriptor.ExpandedMaterializationDe
 import com.dremio.exec.planner.acceleration.descriptor.ExternalMaterializationDescriptor;
 import com.dremio.exec.planner.acceleration.descriptor.MaterializationDescriptor;
 import com.dremio.exec.planner.acceleration.descriptor.ReflectionInfo;
+import com.dremio.exec.planner.acceleration.substitution.SubstitutionUtils;
 import com.dremio.exec.planner.physical.PlannerSettings;
 import com.dremio.exec.planner.sql.SqlConverter;
 import com.dremio.exec.server.MaterializationDescriptorProvider;
@@ -98,6 +99,8 @@ public class TestMaterializationList {
     when(externalMaterializationDescriptor1.isApplicable(any(), any(), any())).thenCallRealMethod();
     when(externalMaterializationDescriptor2.isApplicable(any(), any(), any())).thenCallRealMethod();
 
+    when(provider.get(any(), any(), any())).thenCallRealMethod();
+
     when(converter.getFunctionContext()).thenReturn(functionContext);
     when(functionContext.getOptions()).thenReturn(optionResolver);
     when(optionResolver.getOption(PlannerSettings.EXCLUDE_REFLECTIONS)).thenReturn("");
@@ -220,6 +223,44 @@ public class TestMaterializationList {
     assertEquals("rid-1", dremioMaterializations.stream().findFirst().get().getReflectionId());
   }
 
+  /** Verifies the candidate index only returns reflections overlapping with the query */
+  @Test
+  public void testCandidateIndex() {
+    ExpandedMaterializationDescriptor cachedDesc1 =
+        new ExpandedMaterializationDescriptor(desc1, relOptMat1);
+    RelNode relOptMat1QueryNode = createTableScan(Arrays.asList("schema", "t1"));
+    when(relOptMat1.getQueryRel()).thenReturn(relOptMat1QueryNode);
+
+    ExpandedMaterializationDescriptor cachedDesc2 =
+        new ExpandedMaterializationDescriptor(desc2, relOptMat2);
+    RelNode relOptMat2QueryNode = createExpansionNode(Arrays.asList("schema", "v2"));
+    when(relOptMat2.getQueryRel()).thenReturn(relOptMat2QueryNode);
+
+    // not expanded, so it can't be indexed and is always a candidate
+    when(externalMaterializationDescriptor1.getLayoutId()).thenReturn("rid-3");
+
+    final MaterializationCandidateIndex index =
+        new MaterializationCandidateIndex(
+            ImmutableList.of(cachedDesc1, cachedDesc2, externalMaterializationDescriptor1));
+    assertEquals(3, index.size());
+
+    RelNode tableQuery = createTableScan(Arrays.asList("schema", "t1"));
+    assertEquals(
+        ImmutableList.of(cachedDesc1, externalMaterializationDescriptor1),
+        index.getCandidates(
+            SubstitutionUtils.findTables(tableQuery),
+            SubstitutionUtils.findExpansionNodes(tableQuery),
+            SubstitutionUtils.findExternalQueries(tableQuery)));
+
+    RelNode vdsQuery = createExpansionNode(Arrays.asList("schema", "v2"));
+    assertEquals(
+        ImmutableList.of(cachedDesc2, externalMaterializationDescriptor1),
+        index.getCandidates(
+            SubstitutionUtils.findTables(vdsQuery),
+            SubstitutionUtils.findExpansionNodes(vdsQuery),
+            SubstitutionUtils.findExternalQueries(vdsQuery)));
+  }
+
   private RelNode createTableScan(List<String> path) {
     RelNode node = Mockito.mock(TableScan.class);
     RelOptTable table = Mockito.mock(RelOptTable.class);
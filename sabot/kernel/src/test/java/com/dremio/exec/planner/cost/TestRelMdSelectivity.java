@@ -0,0 +1,195 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.planner.cost;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.dremio.exec.planner.DremioRexBuilder;
+import com.dremio.exec.planner.physical.PlannerSettings;
+import com.dremio.exec.planner.types.JavaTypeFactoryImpl;
+import com.dremio.exec.planner.types.SqlTypeFactoryImpl;
+import com.dremio.exec.store.sys.statistics.StatisticsService;
+import com.dremio.options.OptionResolver;
+import com.dremio.service.namespace.NamespaceKey;
+import com.dremio.test.specs.OptionResolverSpec;
+import com.dremio.test.specs.OptionResolverSpecBuilder;
+import com.google.common.collect.ImmutableList;
+import java.util.List;
+import org.apache.calcite.plan.Context;
+import org.apache.calcite.plan.RelOptCluster;
+import org.apache.calcite.plan.RelOptPlanner;
+import org.apache.calcite.plan.RelOptTable;
+import org.apache.calcite.plan.hep.HepPlanner;
+import org.apache.calcite.plan.hep.HepProgramBuilder;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.core.Join;
+import org.apache.calcite.rel.core.JoinRelType;
+import org.apache.calcite.rel.metadata.RelColumnOrigin;
+import org.apache.calcite.rel.metadata.RelMdUtil;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.rel.type.RelDataTypeFactory;
+import org.apache.calcite.rex.RexBuilder;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.sql.fun.SqlStdOperatorTable;
+import org.apache.calcite.sql.type.SqlTypeName;
+import org.apache.calcite.tools.RelBuilder;
+import org.apache.calcite.util.ImmutableBitSet;
+import org.junit.Before;
+import org.junit.Test;
+
+/** Tests for {@link RelMdSelectivity} */
+public class TestRelMdSelectivity {
+  private static final RelDataTypeFactory typeFactory = JavaTypeFactoryImpl.INSTANCE;
+  private static final RexBuilder rexBuilder = new RexBuilder(typeFactory);
+
+  private final StatisticsService statisticsService = mock(StatisticsService.class);
+  private final RelMdSelectivity selectivity = new RelMdSelectivity(statisticsService);
+  private final RelMetadataQuery mq = mock(RelMetadataQuery.class);
+  private RelNode left;
+  private RelNode right;
+  private Join join;
+
+  @Before
+  public void setup() {
+    PlannerSettings settings = mock(PlannerSettings.class);
+    when(settings.useStatistics()).thenReturn(true);
+    Context context = mock(Context.class);
+    when(context.unwrap(PlannerSettings.class)).thenReturn(settings);
+    RelOptPlanner planner = mock(RelOptPlanner.class);
+    when(planner.getContext()).thenReturn(context);
+    RelOptCluster cluster = mock(RelOptCluster.class);
+    when(cluster.getPlanner()).thenReturn(planner);
+    when(cluster.getRexBuilder()).thenReturn(rexBuilder);
+
+    left = newInput(cluster, "l0", "l1");
+    right = newInput(cluster, "r0", "r1");
+    join = mock(Join.class);
+    when(join.getCluster()).thenReturn(cluster);
+    when(join.getJoinType()).thenReturn(JoinRelType.INNER);
+    when(join.getLeft()).thenReturn(left);
+    when(join.getRight()).thenReturn(right);
+    when(join.getInputs()).thenReturn(ImmutableList.of(left, right));
+    when(join.getRowType())
+        .thenReturn(typeFactory.createJoinType(left.getRowType(), right.getRowType()));
+  }
+
+  private static RelNode newInput(RelOptCluster cluster, String... names) {
+    RelDataType intType = typeFactory.createSqlType(SqlTypeName.INTEGER);
+    ImmutableList.Builder<RelDataType> types = ImmutableList.builder();
+    for (int i = 0; i < names.length; i++) {
+      types.add(intType);
+    }
+    RelNode input = mock(RelNode.class);
+    when(input.getCluster()).thenReturn(cluster);
+    when(input.getRowType())
+        .thenReturn(typeFactory.createStructType(types.build(), ImmutableList.copyOf(names)));
+    return input;
+  }
+
+  private RexNode equals(int first, int second) {
+    RelDataType intType = typeFactory.createSqlType(SqlTypeName.INTEGER);
+    return rexBuilder.makeCall(
+        SqlStdOperatorTable.EQUALS,
+        rexBuilder.makeInputRef(intType, first),
+        rexBuilder.makeInputRef(intType, second));
+  }
+
+  private void collectNdv(RelNode input, int column, long ndv) {
+    final List<String> path = ImmutableList.of("space", "t" + System.identityHashCode(input));
+    final RelOptTable table = mock(RelOptTable.class);
+    when(table.getRowType()).thenReturn(input.getRowType());
+    when(table.getQualifiedName()).thenReturn(path);
+    when(mq.getColumnOrigin(input, column)).thenReturn(new RelColumnOrigin(table, column, false));
+    final String columnName = input.getRowType().getFieldNames().get(column);
+    when(statisticsService.getNDV(columnName, new NamespaceKey(path))).thenReturn(ndv);
+  }
+
+  @Test
+  public void joinFilterUsesLargerNdv() {
+    when(mq.getDistinctRowCount(eq(left), eq(ImmutableBitSet.of(1)), any())).thenReturn(100d);
+    when(mq.getDistinctRowCount(eq(right), eq(ImmutableBitSet.of(0)), any())).thenReturn(1_000d);
+    collectNdv(left, 1, 100);
+    collectNdv(right, 0, 1_000);
+
+    assertEquals(0.001d, selectivity.getSelectivity(join, mq, equals(1, 2)), 1e-9);
+    // operand order doesn't matter
+    assertEquals(0.001d, selectivity.getSelectivity(join, mq, equals(2, 1)), 1e-9);
+  }
+
+  @Test
+  public void joinFilterWithoutCollectedNdvIsGuessed() {
+    // the distinct row count is always available, but only a heuristic without statistics
+    when(mq.getDistinctRowCount(eq(left), eq(ImmutableBitSet.of(1)), any())).thenReturn(10d);
+    when(mq.getDistinctRowCount(eq(right), eq(ImmutableBitSet.of(0)), any())).thenReturn(10d);
+    collectNdv(left, 1, 100);
+
+    RexNode predicate = equals(1, 2);
+    assertEquals(
+        RelMdUtil.guessSelectivity(predicate),
+        selectivity.getSelectivity(join, mq, predicate),
+        1e-9);
+  }
+
+  @Test
+  public void joinFilterWithoutNdvIsGuessed() {
+    RexNode predicate = equals(1, 2);
+    assertEquals(
+        RelMdUtil.guessSelectivity(predicate),
+        selectivity.getSelectivity(join, mq, predicate),
+        1e-9);
+  }
+
+  @Test
+  public void joinWithoutStatisticsIsGuessed() {
+    OptionResolver options =
+        OptionResolverSpecBuilder.build(
+            new OptionResolverSpec().addOption(PlannerSettings.USE_STATISTICS, true));
+    PlannerSettings settings = new PlannerSettings(null, options, null);
+    RelOptPlanner planner =
+        new HepPlanner(
+            new HepProgramBuilder().build(), settings, false, null, new DremioCost.Factory());
+    RelOptCluster cluster =
+        RelOptCluster.create(planner, new DremioRexBuilder(SqlTypeFactoryImpl.INSTANCE));
+    RelBuilder relBuilder = RelBuilder.proto(settings).create(cluster, null);
+    Join logicalJoin =
+        (Join)
+            relBuilder
+                .values(new String[] {"a", "b"}, 1, 2, 3, 4, 5, 6)
+                .values(new String[] {"x", "y"}, 1, 2, 3, 4)
+                .join(
+                    JoinRelType.INNER,
+                    relBuilder.equals(
+                        relBuilder.field(2, 0, "a"), relBuilder.field(2, 1, "x")))
+                .build();
+    RelMetadataQuery metadataQuery = cluster.getMetadataQuery();
+    // without statistics the distinct row count still has a value, derived from the row count
+    assertNotNull(
+        metadataQuery.getDistinctRowCount(logicalJoin.getLeft(), ImmutableBitSet.of(0), null));
+
+    RexNode predicate = logicalJoin.getCondition();
+    assertEquals(
+        RelMdUtil.guessSelectivity(predicate),
+        new RelMdSelectivity(StatisticsService.MOCK_STATISTICS_SERVICE)
+            .getSelectivity(logicalJoin, metadataQuery, predicate),
+        1e-9);
+  }
+}
@@ -17,6 +17,7 @@ package com.dremio.exec.planner.fragment;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 import com.dremio.exec.physical.base.OpProps;
 import com.dremio.exec.proto.CoordExecRPC.MinorAttr;
@@ -129,4 +130,32 @@ public class TestSplitNormalizer {
       assertArrayEquals(writeSplitsSharded[i].toArray(), readSplits.toArray());
     }
   }
+
+  @Test
+  public void multiNodeSharesSerializedPartitions() {
+    MinorDataSerDe serDe = new MinorDataSerDe(null, null);
+    List<SplitAndPartitionInfo> writeSplits = buildSplits(5, 10);
+
+    // write all the splits to both nodes.
+    PlanFragmentsIndex.Builder indexBuilder = new PlanFragmentsIndex.Builder();
+    SplitNormalizer.write(
+        OpProps.prototype(1),
+        new MinorDataWriter(null, dummyEndpoint0, serDe, indexBuilder),
+        writeSplits);
+    SplitNormalizer.write(
+        OpProps.prototype(1),
+        new MinorDataWriter(null, dummyEndpoint1, serDe, indexBuilder),
+        writeSplits);
+
+    // each partition is serialized once, and the bytes are shared by both nodes.
+    List<MinorAttr> attrs0 = indexBuilder.getSharedAttrsIndexBuilder(dummyEndpoint0).getAllAttrs();
+    MinorAttrsMap attrs1 =
+        MinorAttrsMap.create(indexBuilder.getSharedAttrsIndexBuilder(dummyEndpoint1).getAllAttrs());
+    assertEquals(5, attrs0.size());
+    for (MinorAttr attr : attrs0) {
+      assertSame(
+          attr.getValue(),
+          attrs1.getAttrValue(new MinorAttrsMap.Key(attr.getOperatorId(), attr.getName())));
+    }
+  }
 }
@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.planner.plancache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.dremio.exec.catalog.DremioTable;
+import com.dremio.exec.ops.PlannerCatalog;
+import com.dremio.exec.ops.QueryContext;
+import com.dremio.exec.planner.common.PlannerMetrics;
+import com.dremio.exec.planner.sql.SqlConverter;
+import com.dremio.exec.planner.sql.handlers.SqlHandlerConfig;
+import com.dremio.exec.store.CatalogService;
+import com.dremio.service.namespace.NamespaceKey;
+import com.dremio.service.namespace.dataset.proto.DatasetConfig;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ImmutableList;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/** Tests the lookups of {@link LegacyPlanCache} and the metrics they record. */
+public class TestLegacyPlanCache {
+  private static final long PLAN_CREATION_TIME = 1000L;
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final Cache<String, CachedPlan> cachePlans = CacheBuilder.newBuilder().build();
+  private final DatasetConfig datasetConfig = new DatasetConfig();
+  private final SqlHandlerConfig config = mock(SqlHandlerConfig.class);
+  private LegacyPlanCache planCache;
+
+  @Before
+  public void setup() {
+    Metrics.addRegistry(registry);
+    planCache = new LegacyPlanCache(cachePlans, ArrayListMultimap.create());
+
+    final DremioTable table = mock(DremioTable.class);
+    when(table.getDatasetConfig()).thenReturn(datasetConfig);
+    when(table.getPath()).thenReturn(new NamespaceKey(ImmutableList.of("source", "table")));
+    final PlannerCatalog catalog = mock(PlannerCatalog.class);
+    when(catalog.getAllRequestedTables()).thenReturn(ImmutableList.of(table));
+    final SqlConverter converter = mock(SqlConverter.class);
+    when(converter.getPlannerCatalog()).thenReturn(catalog);
+    final QueryContext context = mock(QueryContext.class);
+    when(context.getCatalogService()).thenReturn(mock(CatalogService.class));
+    when(config.getConverter()).thenReturn(converter);
+    when(config.getContext()).thenReturn(context);
+  }
+
+  @After
+  public void tearDown() {
+    Metrics.removeRegistry(registry);
+  }
+
+  private CachedPlan cachePlan(String hash) {
+    final CachedPlan plan = mock(CachedPlan.class);
+    when(plan.getCreationTime()).thenReturn(PLAN_CREATION_TIME);
+    cachePlans.put(hash, plan);
+    return plan;
+  }
+
+  private double lookups(String result) {
+    return registry
+        .get(PlannerMetrics.createName(PlannerMetrics.PREFIX, PlannerMetrics.PLAN_CACHE_LOOKUPS))
+        .tag("result", result)
+        .counter()
+        .count();
+  }
+
+  @Test
+  public void testMiss() {
+    assertNull(planCache.getIfPresentAndValid(config, new PlanCacheKey("missing")));
+    assertEquals(1, lookups("miss"), 0);
+  }
+
+  @Test
+  public void testHit() {
+    final CachedPlan plan = cachePlan("key");
+    datasetConfig.setLastModified(PLAN_CREATION_TIME - 1);
+
+    assertSame(plan, planCache.getIfPresentAndValid(config, new PlanCacheKey("key")));
+    assertSame(plan, planCache.getIfPresentAndValid(config, new PlanCacheKey("key")));
+    assertEquals(2, lookups("hit"), 0);
+  }
+
+  @Test
+  public void testInvalidatedByDatasetUpdate() {
+    cachePlan("key");
+    datasetConfig.setLastModified(PLAN_CREATION_TIME + 1);
+
+    assertNull(planCache.getIfPresentAndValid(config, new PlanCacheKey("key")));
+    assertEquals(1, lookups("invalidated"), 0);
+    assertNull(cachePlans.getIfPresent("key"));
+
+    // the entry is gone, the next lookup misses
+    assertNull(planCache.getIfPresentAndValid(config, new PlanCacheKey("key")));
+    assertEquals(1, lookups("miss"), 0);
+  }
+}
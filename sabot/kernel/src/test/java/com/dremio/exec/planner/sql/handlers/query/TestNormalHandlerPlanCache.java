@@ -0,0 +1,141 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.planner.sql.handlers.query;
+
+import static org.junit.Assert.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.dremio.common.logical.PlanProperties.Generator.ResultMode;
+import com.dremio.exec.ops.PlannerCatalog;
+import com.dremio.exec.ops.QueryContext;
+import com.dremio.exec.planner.events.PlannerEventBus;
+import com.dremio.exec.planner.logical.Rel;
+import com.dremio.exec.planner.physical.PlannerSettings;
+import com.dremio.exec.planner.physical.Prel;
+import com.dremio.exec.planner.plancache.PlanCache;
+import com.dremio.exec.planner.plancache.PlanCacheKey;
+import com.dremio.exec.planner.plancache.PlanCacheUtils;
+import com.dremio.exec.planner.sql.SqlConverter;
+import com.dremio.exec.planner.sql.handlers.ConvertedRelNode;
+import com.dremio.exec.planner.sql.handlers.DrelTransformer;
+import com.dremio.exec.planner.sql.handlers.PrelTransformer;
+import com.dremio.exec.planner.sql.handlers.SqlHandlerConfig;
+import com.dremio.exec.planner.sql.handlers.SqlToRelTransformer;
+import com.dremio.exec.proto.UserBitShared.WorkloadType;
+import com.dremio.sabot.exec.context.ContextInformation;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.sql.SqlNode;
+import org.apache.calcite.util.Pair;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.MockedStatic;
+
+/** Tests how {@link NormalHandler} uses the plan cache depending on whether it is enabled. */
+public class TestNormalHandlerPlanCache {
+  private final SqlHandlerConfig config = mock(SqlHandlerConfig.class);
+  private final PlannerSettings plannerSettings = mock(PlannerSettings.class);
+  private final PlanCache planCache = mock(PlanCache.class);
+  private final SqlNode sqlNode = mock(SqlNode.class);
+  private final RelNode relNode = mock(RelNode.class);
+  private final Prel prel = mock(Prel.class);
+  private final PlanCacheKey key = new PlanCacheKey("key");
+
+  private MockedStatic<SqlToRelTransformer> sqlToRel;
+  private MockedStatic<DrelTransformer> drelTransformer;
+  private MockedStatic<PrelTransformer> prelTransformer;
+  private MockedStatic<PlanCacheUtils> planCacheUtils;
+
+  @Before
+  public void setup() throws Exception {
+    final QueryContext context = mock(QueryContext.class);
+    when(context.getWorkloadType()).thenReturn(WorkloadType.UI_RUN);
+    when(context.getContextInformation()).thenReturn(mock(ContextInformation.class));
+    when(context.getPlannerSettings()).thenReturn(plannerSettings);
+    when(context.getPlanCache()).thenReturn(planCache);
+    when(plannerSettings.ignoreScannedColumnsLimit()).thenReturn(true);
+
+    final SqlConverter converter = mock(SqlConverter.class);
+    when(converter.getPlannerCatalog()).thenReturn(mock(PlannerCatalog.class));
+    when(config.getContext()).thenReturn(context);
+    when(config.getConverter()).thenReturn(converter);
+    when(config.getPlannerEventBus()).thenReturn(mock(PlannerEventBus.class));
+    when(config.getResultMode()).thenReturn(ResultMode.EXEC);
+
+    final ConvertedRelNode converted = mock(ConvertedRelNode.class);
+    when(converted.getConvertedNode()).thenReturn(relNode);
+    final Rel drel = mock(Rel.class);
+
+    sqlToRel = mockStatic(SqlToRelTransformer.class);
+    sqlToRel
+        .when(() -> SqlToRelTransformer.validateAndConvert(config, sqlNode))
+        .thenReturn(converted);
+    drelTransformer = mockStatic(DrelTransformer.class);
+    drelTransformer.when(() -> DrelTransformer.convertToDrel(any(), any(), any())).thenReturn(drel);
+    prelTransformer = mockStatic(PrelTransformer.class);
+    prelTransformer
+        .when(() -> PrelTransformer.convertToPrel(config, drel))
+        .thenReturn(Pair.of(prel, ""));
+    // stop planning once the plan cache has been used
+    prelTransformer
+        .when(() -> PrelTransformer.convertToPop(config, prel))
+        .thenThrow(new IllegalStateException("planned"));
+    planCacheUtils = mockStatic(PlanCacheUtils.class);
+    planCacheUtils
+        .when(() -> PlanCacheUtils.generateCacheKey(sqlNode, relNode, context))
+        .thenReturn(key);
+    planCacheUtils
+        .when(() -> PlanCacheUtils.supportPlanCache(any(), any(), any(), any()))
+        .thenReturn(true);
+  }
+
+  @After
+  public void tearDown() {
+    sqlToRel.close();
+    drelTransformer.close();
+    prelTransformer.close();
+    planCacheUtils.close();
+  }
+
+  private void plan() {
+    assertThrows(Exception.class, () -> new NormalHandler().getPlan(config, "select 1", sqlNode));
+    prelTransformer.verify(() -> PrelTransformer.convertToPop(config, prel));
+  }
+
+  @Test
+  public void testDisabledCacheBuildsNoKey() {
+    when(plannerSettings.isPlanCacheEnabled()).thenReturn(false);
+    plan();
+
+    planCacheUtils.verify(() -> PlanCacheUtils.generateCacheKey(any(), any(), any()), never());
+    verify(planCache, never()).getIfPresentAndValid(any(), any());
+    verify(planCache, never()).putCachedPlan(any(), any(), any());
+  }
+
+  @Test
+  public void testEnabledCacheStoresPlanUnderKey() {
+    when(plannerSettings.isPlanCacheEnabled()).thenReturn(true);
+    plan();
+
+    verify(planCache).getIfPresentAndValid(config, key);
+    verify(planCache).putCachedPlan(config, key, prel);
+  }
+}
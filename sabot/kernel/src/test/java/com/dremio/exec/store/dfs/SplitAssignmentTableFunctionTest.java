@@ -44,8 +44,10 @@ import com.dremio.sabot.exec.fragment.FragmentExecutionContext;
 import com.dremio.service.namespace.dataset.proto.PartitionProtobuf;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import org.apache.arrow.memory.ArrowBuf;
@@ -221,6 +223,35 @@ public class SplitAssignmentTableFunctionTest extends ExecTest {
     splitAssignmentTableFunction.close();
   }
 
+  @Test
+  public void testSplitsAssignmentAcrossBatches() throws Exception {
+    SplitAssignmentTableFunction splitAssignmentTableFunction =
+        spy(getSplitAssignmentTableFunction());
+
+    doReturn(null).when(splitAssignmentTableFunction).getFileBlockLocations(anyString(), anyLong());
+
+    // one split per batch, later batches should go to the fragments with the least work so far
+    Set<Integer> assignedFragments = new HashSet<>();
+    for (int batch = 0; batch < 4; batch++) {
+      StructVector splitVector =
+          incoming.getValueAccessorById(StructVector.class, 0).getValueVector();
+      NullableStructWriter writer = splitVector.getWriter();
+      IcebergUtils.writeSplitIdentity(
+          writer, 0, new SplitIdentity("path", batch * 100, 100, 102400), tmpBuf);
+      incoming.setAllCount(1);
+
+      splitAssignmentTableFunction.startRow(0);
+      splitAssignmentTableFunction.processRow(0, Integer.MAX_VALUE);
+
+      IntVector hashVector = outgoing.getValueAccessorById(IntVector.class, 1).getValueVector();
+      assignedFragments.add(hashVector.get(0));
+    }
+
+    Assert.assertEquals(4, assignedFragments.size());
+
+    splitAssignmentTableFunction.close();
+  }
+
   @Test
   public void testSplitsAssignmentWithPartLocalAndPartRemoteAssignment() throws Exception {
     SplitAssignmentTableFunction splitAssignmentTableFunction =
@@ -0,0 +1,233 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.store.easy.arrow;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.when;
+
+import com.dremio.common.exceptions.UserException;
+import com.dremio.common.expression.SchemaPath;
+import com.dremio.exec.ExecConstants;
+import com.dremio.exec.ExecTest;
+import com.dremio.exec.expr.TypeHelper;
+import com.dremio.exec.hadoop.HadoopFileSystem;
+import com.dremio.exec.record.VectorContainer;
+import com.dremio.exec.store.RecordWriter;
+import com.dremio.io.file.FileSystem;
+import com.dremio.io.file.Path;
+import com.dremio.options.OptionManager;
+import com.dremio.sabot.exec.context.OperatorContext;
+import com.dremio.sabot.op.scan.VectorContainerMutator;
+import com.google.common.collect.ImmutableList;
+import io.netty.util.internal.PlatformDependent;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarBinaryVector;
+import org.apache.hadoop.conf.Configuration;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.MockedStatic;
+
+/** Tests for {@link ArrowRecordReader} with and without memory mapped batch loading. */
+public class TestArrowRecordReader extends ExecTest {
+  private static final int BATCH_COUNT = 3;
+  private static final List<SchemaPath> COLUMNS =
+      ImmutableList.of(SchemaPath.getSimplePath("int"), SchemaPath.getSimplePath("binary"));
+
+  @Rule public final TemporaryFolder tmp = new TemporaryFolder();
+
+  private FileSystem fs;
+  private Path arrowFile;
+
+  @Before
+  public void writeArrowFile() throws Exception {
+    Configuration conf = new Configuration();
+    conf.set(org.apache.hadoop.fs.FileSystem.FS_DEFAULT_NAME_KEY, "file:///");
+    fs = HadoopFileSystem.get(org.apache.hadoop.fs.FileSystem.get(conf));
+    arrowFile = Path.of(tmp.getRoot().getAbsolutePath()).resolve("batches.dremarrow1");
+
+    ArrowRecordWriter writer =
+        new ArrowRecordWriter(
+            newContext(allocator, false), arrowFile.toString(), new ArrowFormatPluginConfig(), fs);
+    try (IntVector intVector = new IntVector("int", allocator);
+        VarBinaryVector binVector = new VarBinaryVector("binary", allocator);
+        VectorContainer container = new VectorContainer()) {
+      container.add(intVector);
+      container.add(binVector);
+      container.buildSchema();
+
+      RecordWriter.WriteStatsListener byteCountListener = (b) -> {};
+      RecordWriter.OutputEntryListener fileWriteListener =
+          (a, b, c, d, e, f, g, partition, h, p, r, s) -> {};
+      writer.setup(container, fileWriteListener, byteCountListener);
+
+      for (int batch = 1; batch <= BATCH_COUNT; batch++) {
+        final int batchSize = batch * 13;
+        for (int row = 0; row < batchSize; row++) {
+          intVector.setSafe(row, row * batch);
+          binVector.setSafe(row, value(batch, row));
+        }
+        container.setAllCount(batchSize);
+        writer.writeBatch(0, batchSize);
+      }
+    } finally {
+      writer.close();
+    }
+  }
+
+  private static byte[] value(int batch, int row) {
+    return ("A-" + row + "-" + batch).getBytes();
+  }
+
+  private static OperatorContext newContext(BufferAllocator allocator, boolean mmapEnabled) {
+    OptionManager options = mock(OptionManager.class);
+    when(options.getOption(ExecConstants.ARROW_FILE_MMAP_ENABLED)).thenReturn(mmapEnabled);
+    OperatorContext context = mock(OperatorContext.class);
+    when(context.getAllocator()).thenReturn(allocator);
+    when(context.getOptions()).thenReturn(options);
+    when(context.getTargetBatchSize()).thenReturn(4095);
+    return context;
+  }
+
+  /** Reads all batches of the test file, returning the read values in order. */
+  private List<Object> readAll(BufferAllocator allocator, boolean mmapEnabled) throws Exception {
+    final List<Object> values = new ArrayList<>();
+    try (VectorContainer outgoing = new VectorContainer(allocator);
+        ArrowRecordReader reader =
+            new ArrowRecordReader(newContext(allocator, mmapEnabled), fs, arrowFile, COLUMNS)) {
+      reader.setup(new VectorContainerMutator(outgoing));
+      int batch = 0;
+      int count;
+      while ((count = reader.next()) > 0) {
+        batch++;
+        assertEquals(batch * 13, count);
+        final IntVector intVector =
+            outgoing.getValueAccessorById(IntVector.class, 0).getValueVector();
+        final VarBinaryVector binVector =
+            outgoing.getValueAccessorById(VarBinaryVector.class, 1).getValueVector();
+        for (int row = 0; row < count; row++) {
+          values.add(intVector.getObject(row));
+          values.add(new String(binVector.getObject(row)));
+        }
+      }
+      assertEquals(BATCH_COUNT, batch);
+    }
+    return values;
+  }
+
+  @Test
+  public void testMappedReadsMatchStreamReads() throws Exception {
+    try (BufferAllocator child = allocator.newChildAllocator("mmap", 0, Long.MAX_VALUE);
+        MockedStatic<PlatformDependent> platform =
+            mockStatic(PlatformDependent.class, CALLS_REAL_METHODS)) {
+      final List<Object> streamed = readAll(child, false);
+      platform.verify(() -> PlatformDependent.freeDirectBuffer(any()), never());
+
+      final List<Object> mapped = readAll(child, true);
+      assertEquals(streamed, mapped);
+      assertEquals(2 * (13 + 26 + 39), mapped.size());
+
+      // one mapping per batch, all released once the vectors are closed
+      platform.verify(() -> PlatformDependent.freeDirectBuffer(any()), times(BATCH_COUNT));
+      assertEquals(0, child.getAllocatedMemory());
+    }
+  }
+
+  @Test
+  public void testWritesToMappedVectorsAreSafe() throws Exception {
+    final List<Object> original = readAll(allocator, false);
+    try (BufferAllocator child = allocator.newChildAllocator("mmap", 0, Long.MAX_VALUE);
+        VectorContainer outgoing = new VectorContainer(child);
+        ArrowRecordReader reader =
+            new ArrowRecordReader(newContext(child, true), fs, arrowFile, COLUMNS)) {
+      reader.setup(new VectorContainerMutator(outgoing));
+      int count;
+      while ((count = reader.next()) > 0) {
+        final IntVector intVector =
+            outgoing.getValueAccessorById(IntVector.class, 0).getValueVector();
+        final VarBinaryVector binVector =
+            outgoing.getValueAccessorById(VarBinaryVector.class, 1).getValueVector();
+        // overwrite values in place and fill holes of the variable width vector, as downstream
+        // operators do with the buffers they receive
+        for (int row = 0; row < count; row++) {
+          intVector.set(row, -row);
+        }
+        binVector.set(0, "B-0".getBytes());
+        binVector.setNull(count - 1);
+        binVector.setLastSet(0);
+        binVector.setValueCount(count);
+        assertEquals(-(count - 1), intVector.get(count - 1));
+        assertEquals("B-0", new String(binVector.get(0)));
+        assertEquals(0, binVector.getValueLength(count - 2));
+      }
+    }
+    // the writes were private to the mapping
+    assertEquals(original, readAll(allocator, false));
+    assertEquals(original, readAll(allocator, true));
+  }
+
+  @Test
+  public void testMappedRegionIsReleasedOnFailure() throws Exception {
+    try (BufferAllocator child = allocator.newChildAllocator("mmap", 0, Long.MAX_VALUE);
+        MockedStatic<PlatformDependent> platform =
+            mockStatic(PlatformDependent.class, CALLS_REAL_METHODS);
+        MockedStatic<TypeHelper> typeHelper = mockStatic(TypeHelper.class, CALLS_REAL_METHODS)) {
+      // load the first vector of the batch from the mapping, then fail on the second one
+      typeHelper
+          .when(() -> TypeHelper.load(any(), any(), any(ArrowBuf.class)))
+          .thenCallRealMethod()
+          .thenThrow(new IllegalStateException("load failure"));
+
+      final UserException e = assertThrows(UserException.class, () -> readAll(child, true));
+      assertTrue(e.getMessage().contains("Failed to read data from Arrow format file."));
+
+      platform.verify(() -> PlatformDependent.freeDirectBuffer(any()), times(1));
+      assertEquals(0, child.getAllocatedMemory());
+    }
+  }
+
+  @Test
+  public void testMapRegion() throws Exception {
+    try (BufferAllocator child = allocator.newChildAllocator("mmap", 0, Long.MAX_VALUE);
+        MockedStatic<PlatformDependent> platform =
+            mockStatic(PlatformDependent.class, CALLS_REAL_METHODS)) {
+      assertTrue(MappedArrowRegion.isSupported(fs));
+      final byte[] magic = ArrowFormatPlugin.MAGIC_STRING.getBytes();
+      try (ArrowBuf region = MappedArrowRegion.map(child, arrowFile, 0, magic.length)) {
+        assertEquals(magic.length, child.getAllocatedMemory());
+        final byte[] read = new byte[magic.length];
+        region.getBytes(0, read);
+        assertEquals(ArrowFormatPlugin.MAGIC_STRING, new String(read));
+        platform.verify(() -> PlatformDependent.freeDirectBuffer(any()), never());
+      }
+      platform.verify(() -> PlatformDependent.freeDirectBuffer(any()), times(1));
+      assertEquals(0, child.getAllocatedMemory());
+    }
+  }
+}
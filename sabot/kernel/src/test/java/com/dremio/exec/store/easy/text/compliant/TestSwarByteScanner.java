@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.store.easy.text.compliant;
+
+import static org.junit.Assert.assertEquals;
+
+import io.netty.util.internal.PlatformDependent;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import org.junit.Test;
+
+/** Tests for {@link SwarByteScanner} */
+public class TestSwarByteScanner {
+
+  private static int indexOf(String data, int from, int to) {
+    byte[] bytes = data.getBytes(StandardCharsets.UTF_8);
+    ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+    buffer.put(bytes);
+    long address = PlatformDependent.directBufferAddress(buffer);
+    return SwarByteScanner.indexOfAny(address, from, to, (byte) '\r', (byte) '\n', (byte) ',');
+  }
+
+  private static int naiveIndexOf(String data, int from, int to) {
+    for (int i = from; i < to; i++) {
+      char c = data.charAt(i);
+      if (c == '\r' || c == '\n' || c == ',') {
+        return i;
+      }
+    }
+    return to;
+  }
+
+  @Test
+  public void testShortInputs() {
+    assertEquals(0, indexOf("", 0, 0));
+    assertEquals(3, indexOf("abc", 0, 3));
+    assertEquals(1, indexOf("a,c", 0, 3));
+    assertEquals(2, indexOf("a,c", 2, 3));
+  }
+
+  @Test
+  public void testWordBoundaries() {
+    String prefix = "abcdefghijklmnopqrstuvwxyz0123456789";
+    for (int pos = 0; pos < prefix.length(); pos++) {
+      for (String delimiter : new String[] {",", "\n", "\r"}) {
+        String data = prefix.substring(0, pos) + delimiter + prefix.substring(pos);
+        for (int from = 0; from <= pos; from++) {
+          assertEquals(naiveIndexOf(data, from, data.length()), indexOf(data, from, data.length()));
+        }
+        // the match lies beyond the scanned range
+        assertEquals(pos, indexOf(data, 0, pos));
+      }
+    }
+  }
+
+  @Test
+  public void testHighBitBytes() {
+    // multi-byte UTF-8 sequences must not be mistaken for delimiters
+    String data = "éèê中文ÿ\u0080,tail";
+    int length = data.getBytes(StandardCharsets.UTF_8).length;
+    int expected =
+        new String(data.getBytes(StandardCharsets.UTF_8), StandardCharsets.ISO_8859_1).indexOf(',');
+    assertEquals(expected, indexOf(data, 0, length));
+  }
+}
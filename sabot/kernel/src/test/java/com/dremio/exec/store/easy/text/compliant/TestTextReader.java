@@ -20,10 +20,14 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import com.dremio.BaseTestQuery;
+import com.dremio.TestBuilder;
 import com.dremio.common.exceptions.UserRemoteException;
 import com.dremio.exec.proto.UserBitShared;
+import com.google.common.base.Strings;
 import java.io.File;
 import java.io.FileWriter;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.regex.Pattern;
 import org.apache.commons.io.FileUtils;
 import org.junit.AfterClass;
@@ -45,6 +49,8 @@ public class TestTextReader extends BaseTestQuery {
   private static String TMP_CSV_FILE_TWO_ROWS = "my_two_rows.csv";
   // Multiple 8K chunks ending at newline
   private static String TMP_CSV_MULTIPLE_8K_CHUNKS = "multiple_8k_chunks.csv";
+  // unquoted values spanning read buffer refills
+  private static String TMP_CSV_PLAIN_RUNS = "plain_runs.csv";
   // row count in count star file
   private static long ROW_COUNT = 1023;
   private static long ROW_COUNT_8K_CHUNKS = 1442;
@@ -191,11 +197,24 @@ public class TestTextReader extends BaseTestQuery {
           + "lineDelimiter => '\r\n'"
           + ", extractHeader => true, skipFirstLine => false, autoGenerateColumnNames => false))";
 
+  private static String QUERY_PLAIN_RUNS =
+      "select a, b, c from table("
+          + TEMP_SCHEMA
+          + ".\""
+          + TMP_CSV_PLAIN_RUNS
+          + "\""
+          + " (type => 'text', fieldDelimiter => ',', "
+          + "comment => '#', quote => '\"', "
+          + "lineDelimiter => '\n'"
+          + ", extractHeader => true, skipFirstLine => false, autoGenerateColumnNames => false))";
+
   private static File tblPathSmall = null;
   private static File tblPathLarge = null;
   private static File tblPathCountStar = null;
   private static File tblPathTwoRows = null;
   private static File tblPathMultiple8kChunks = null;
+  private static File tblPathPlainRuns = null;
+  private static final List<String[]> plainRunsRows = new ArrayList<>();
 
   @BeforeClass
   public static void beforeClass() throws Exception {
@@ -205,12 +224,14 @@ public class TestTextReader extends BaseTestQuery {
     tblPathCountStar = new File(getDfsTestTmpSchemaLocation(), TMP_CSV_FILE_COUNT_STAR);
     tblPathTwoRows = new File(getDfsTestTmpSchemaLocation(), TMP_CSV_FILE_TWO_ROWS);
     tblPathMultiple8kChunks = new File(getDfsTestTmpSchemaLocation(), TMP_CSV_MULTIPLE_8K_CHUNKS);
+    tblPathPlainRuns = new File(getDfsTestTmpSchemaLocation(), TMP_CSV_PLAIN_RUNS);
 
     FileUtils.deleteQuietly(tblPathSmall);
     FileUtils.deleteQuietly(tblPathLarge);
     FileUtils.deleteQuietly(tblPathCountStar);
     FileUtils.deleteQuietly(tblPathTwoRows);
     FileUtils.deleteQuietly(tblPathMultiple8kChunks);
+    FileUtils.deleteQuietly(tblPathPlainRuns);
     startTest();
   }
 
@@ -221,6 +242,7 @@ public class TestTextReader extends BaseTestQuery {
     FileUtils.deleteQuietly(tblPathCountStar);
     FileUtils.deleteQuietly(tblPathTwoRows);
     FileUtils.deleteQuietly(tblPathMultiple8kChunks);
+    FileUtils.deleteQuietly(tblPathPlainRuns);
   }
 
   private static void startTest() throws Exception {
@@ -277,6 +299,57 @@ public class TestTextReader extends BaseTestQuery {
         com.dremio.common.util.FileUtils.getResourceAsFile(
             "/store/text/data/multiple_8k_chunks.csv"),
         tblPathMultiple8kChunks);
+
+    writePlainRunsFile();
+  }
+
+  /**
+   * Writes long unquoted values, with plain runs that either end on the last byte of a read buffer
+   * or span the refill and end a few bytes into the next buffer, right before a field delimiter, an
+   * embedded quote or a newline. Rows in between have varying lengths so that other refills land
+   * at other offsets within words.
+   */
+  private static void writePlainRunsFile() throws Exception {
+    final StringBuilder csv = new StringBuilder("a,b,c\n");
+    int row = 0;
+    for (int boundary = 1; boundary <= 6; boundary++) {
+      // offset of the byte the run ends right before
+      final int end =
+          boundary * CompliantTextRecordReader.READ_BUFFER + (boundary % 2 == 0 ? 3 : 0);
+      while (csv.length() + 8192 < end) {
+        final String b = Strings.repeat("b", 1 + (row * 7919) % 3989);
+        addPlainRunsRow(csv, "r" + row, b, Strings.repeat("c", 1 + row % 61));
+        row++;
+      }
+      final String a = "r" + row;
+      // length of the run in the last column, after "a,b,"
+      final int lastRun = end - csv.length() - a.length() - 3;
+      switch (boundary % 3) {
+        case 0:
+          // field delimiter
+          addPlainRunsRow(csv, Strings.repeat("a", end - csv.length()), "b", "c");
+          break;
+        case 1:
+          // embedded quote, read as part of the unquoted value
+          addPlainRunsRow(csv, a, "b", Strings.repeat("c", lastRun) + "\"q");
+          break;
+        default:
+          // newline
+          addPlainRunsRow(csv, a, "b", Strings.repeat("c", lastRun));
+          break;
+      }
+      row++;
+    }
+    addPlainRunsRow(csv, "r" + row, "last", "row");
+
+    try (FileWriter fwriter = new FileWriter(tblPathPlainRuns)) {
+      fwriter.append(csv);
+    }
+  }
+
+  private static void addPlainRunsRow(StringBuilder csv, String a, String b, String c) {
+    plainRunsRows.add(new String[] {a, b, c});
+    csv.append(a).append(',').append(b).append(',').append(c).append('\n');
   }
 
   @Test
@@ -394,4 +467,14 @@ public class TestTextReader extends BaseTestQuery {
         .baselineValues(ROW_COUNT_8K_CHUNKS)
         .go();
   }
+
+  @Test
+  public void testPlainRunsAcrossReadBufferRefills() throws Exception {
+    final TestBuilder builder =
+        testBuilder().sqlQuery(QUERY_PLAIN_RUNS).unOrdered().baselineColumns("a", "b", "c");
+    for (String[] row : plainRunsRows) {
+      builder.baselineValues(row[0], row[1], row[2]);
+    }
+    builder.go();
+  }
 }
@@ -20,6 +20,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import com.dremio.exec.store.iceberg.deletes.MergingPositionalDeleteIterator;
 import com.dremio.exec.store.iceberg.deletes.PositionalDeleteFilter;
 import com.dremio.exec.store.iceberg.deletes.PositionalDeleteIterator;
+import com.dremio.sabot.op.scan.ScanOperator;
 import com.google.common.collect.ImmutableList;
 import java.util.Iterator;
 import java.util.stream.Stream;
@@ -68,6 +69,26 @@ public class TestParquetRowwiseReaderWithPositionalDeletes
         900);
   }
 
+  @Test
+  public void testSkippedValuesAreReported() throws Exception {
+    // [ 500 .. 599 ]
+    Iterator<Long> iterator =
+        Stream.iterate(0L, i -> i + 1).limit(1000).filter(i -> i >= 500 && i <= 599).iterator();
+    PositionalDeleteFilter positionalDeleteFilter = createPositionalDeleteFilter(iterator, 2);
+
+    readAndValidateOrderIdConditionAndRowCount(
+        positionalDeleteFilter,
+        ROWWISE_READER_OPTIONS,
+        orderId -> orderId < 8500 || orderId > 8599,
+        "not between (8500, 8599)",
+        900);
+
+    assertThat(context.getStats().getLongStat(ScanOperator.Metric.PARQUET_VALUES_SKIPPED))
+        .isGreaterThan(0);
+    assertThat(context.getStats().getLongStat(ScanOperator.Metric.PARQUET_BYTES_SKIPPED))
+        .isGreaterThan(0);
+  }
+
   @Test
   public void testWithMergedDeleteFiles() throws Exception {
 
@@ -788,6 +788,35 @@ public class TestAssignmentCreatorForC3 extends ExecTest {
         AssignmentCreator2.LEFTOVER_ASSIGNMENTS.get() == 1);
   }
 
+  @Test
+  public void testBalanceByAverageSpreadsLargeSplits() {
+    final long gb = 1024L * 1024 * 1024;
+    List<TestHardAssignmentCreator.TestWork> splits = new ArrayList<>();
+    // two very large splits first, so that they dominate the size of the first few splits
+    splits.add(newWork("L1", 100 * gb, newAffinity(ENDPOINT1_1, 100 * gb)));
+    splits.add(newWork("L2", 100 * gb, newAffinity(ENDPOINT1_1, 100 * gb)));
+    for (int i = 0; i < 38; i++) {
+      splits.add(newWork("S" + i, gb, newAffinity(ENDPOINT1_1, gb)));
+    }
+    List<CoordinationProtos.NodeEndpoint> endpoints =
+        asList(ENDPOINT1_1, ENDPOINT2_1, ENDPOINT3_1, ENDPOINT4_1);
+
+    ListMultimap<Integer, TestHardAssignmentCreator.TestWork> mappings =
+        AssignmentCreator2.getMappings(endpoints, splits, 1.5, true);
+
+    Assert.assertEquals(splits.size(), mappings.size());
+    // expected fragment size is the largest split, as it is bigger than the average
+    long limit = (long) (100 * gb * 1.5);
+    for (Integer fragment : mappings.keySet()) {
+      long assigned = 0;
+      for (TestHardAssignmentCreator.TestWork work : mappings.get(fragment)) {
+        assigned += work.getTotalBytes();
+      }
+      Assert.assertTrue(
+          "Fragment " + fragment + " was assigned " + assigned + " bytes", assigned <= limit);
+    }
+  }
+
   class SplitGenerator {
     List<CoordinationProtos.NodeEndpoint> endpoints;
     Random rand;
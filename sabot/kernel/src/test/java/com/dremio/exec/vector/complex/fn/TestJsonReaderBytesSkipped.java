@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.vector.complex.fn;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import com.dremio.common.expression.SchemaPath;
+import com.dremio.exec.ExecTest;
+import com.dremio.exec.store.easy.json.JsonProcessor.ReadState;
+import com.google.common.collect.ImmutableList;
+import java.util.Map;
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.vector.complex.NonNullableStructVector;
+import org.apache.arrow.vector.complex.StructVector;
+import org.apache.arrow.vector.complex.impl.ComplexWriterImpl;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.junit.Test;
+
+/** Tests the bytes of unprojected values counted by {@link JsonReader#getBytesSkipped()}. */
+public class TestJsonReaderBytesSkipped extends ExecTest {
+
+  @Test
+  public void testBytesOfUnprojectedObjectsAndArrays() throws Exception {
+    final String skippedObject = "{\"e\": [1, {\"f\": \"}\"}], \"g\": null}";
+    final String skippedArray = "[{\"h\": \"x\"}, [2, 3]]";
+    final String json =
+        "{\"a\": 1, \"b\": {\"c\": 2, \"d\":  "
+            + skippedObject
+            + "}, \"i\" :\n"
+            + skippedArray
+            + ", \"j\": \"unprojected scalar\", \"k\": 4}\n"
+            + "{\"a\": 5, \"i\": "
+            + skippedArray
+            + "}";
+
+    try (ArrowBuf buf = allocator.buffer(256);
+        NonNullableStructVector structVector =
+            new NonNullableStructVector(
+                "",
+                allocator,
+                new FieldType(false, ArrowType.Struct.INSTANCE, null, null),
+                null)) {
+      final ComplexWriterImpl writer = new ComplexWriterImpl("col", structVector);
+      final JsonReader reader =
+          new JsonReader(
+              buf,
+              ImmutableList.of(
+                  SchemaPath.getSimplePath("a"), SchemaPath.getCompoundPath("b", "c")),
+              65536,
+              128,
+              false,
+              false,
+              false,
+              false,
+              null,
+              null,
+              null,
+              null,
+              null,
+              null,
+              false,
+              null,
+              0L,
+              false,
+              null,
+              0L);
+      reader.setSource(json);
+
+      writer.setPosition(0);
+      assertEquals(ReadState.WRITE_SUCCEED, reader.write(writer));
+      // only the objects and arrays themselves, not the separators around them or the scalars
+      assertEquals(skippedObject.length() + skippedArray.length(), reader.getBytesSkipped());
+
+      writer.setPosition(1);
+      assertEquals(ReadState.WRITE_SUCCEED, reader.write(writer));
+      assertEquals(skippedObject.length() + 2 * skippedArray.length(), reader.getBytesSkipped());
+      writer.setValueCount(2);
+
+      final StructVector col = structVector.getChild("col", StructVector.class);
+      final Map<?, ?> first = (Map<?, ?>) col.getObject(0);
+      assertEquals(1L, first.get("a"));
+      assertEquals(2L, ((Map<?, ?>) first.get("b")).get("c"));
+      assertFalse(((Map<?, ?>) first.get("b")).containsKey("d"));
+      assertFalse(first.containsKey("i"));
+      assertFalse(first.containsKey("k"));
+      assertEquals(5L, ((Map<?, ?>) col.getObject(1)).get("a"));
+    }
+  }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.sabot.op.sort.external;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.dremio.exec.record.VectorAccessible;
+import com.dremio.exec.record.VectorContainer;
+import com.dremio.sabot.exec.context.FunctionContext;
+import com.dremio.sabot.op.sort.external.DiskRunManager.DiskRunIterator;
+import com.dremio.test.AllocatorRule;
+import com.dremio.test.DremioTest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.arrow.memory.BufferAllocator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+/** Tests for the tournament tree merge of {@link PriorityQueueCopierTemplate}. */
+public class TestPriorityQueueCopierTemplate extends DremioTest {
+
+  @Rule public final AllocatorRule allocatorRule = AllocatorRule.defaultAllocator();
+
+  private BufferAllocator allocator;
+
+  @Before
+  public void setup() {
+    allocator = allocatorRule.newAllocator("test-priority-queue-copier", 0, Long.MAX_VALUE);
+  }
+
+  @After
+  public void cleanup() {
+    allocator.close();
+  }
+
+  /** Merges runs of int keys, recording the run and record of each copied value. */
+  private static final class KeyCopier extends PriorityQueueCopierTemplate {
+    private final int[][] runs;
+    private final List<String> copied = new ArrayList<>();
+
+    private KeyCopier(int[][] runs) {
+      this.runs = runs;
+    }
+
+    private int key(int compoundIndex) {
+      return runs[compoundIndex >>> 16][compoundIndex & 65535];
+    }
+
+    @Override
+    public void doSetup(
+        FunctionContext context, VectorAccessible incoming, VectorAccessible outgoing) {}
+
+    @Override
+    public int doEval(int leftIndex, int rightIndex) {
+      return Integer.compare(key(leftIndex), key(rightIndex));
+    }
+
+    @Override
+    public void doCopy(int inIndex, int outIndex) {
+      copied.add((inIndex >>> 16) + ":" + (inIndex & 65535));
+    }
+  }
+
+  private static DiskRunIterator iterator(int length) throws Exception {
+    final DiskRunIterator iterator = mock(DiskRunIterator.class);
+    final AtomicInteger next = new AtomicInteger();
+    when(iterator.getNextId())
+        .thenAnswer(invocation -> next.get() < length ? next.getAndIncrement() : -1);
+    return iterator;
+  }
+
+  /** Runs and records ordered by key, then by run, then by position in the run. */
+  private static List<String> expected(int[][] runs) {
+    final List<int[]> records = new ArrayList<>();
+    for (int run = 0; run < runs.length; run++) {
+      for (int i = 0; i < runs[run].length; i++) {
+        records.add(new int[] {runs[run][i], run, i});
+      }
+    }
+    records.sort(
+        Comparator.<int[]>comparingInt(r -> r[0])
+            .thenComparingInt(r -> r[1])
+            .thenComparingInt(r -> r[2]));
+    final List<String> expected = new ArrayList<>();
+    for (int[] record : records) {
+      expected.add(record[1] + ":" + record[2]);
+    }
+    return expected;
+  }
+
+  /** Merges the runs in batches of the given size, checking the size of every batch. */
+  private List<String> merge(int targetRecordCount, int[]... runs) throws Exception {
+    final DiskRunIterator[] iterators = new DiskRunIterator[runs.length];
+    for (int i = 0; i < runs.length; i++) {
+      iterators[i] = iterator(runs[i].length);
+    }
+    final int total = Arrays.stream(runs).mapToInt(r -> r.length).sum();
+
+    final KeyCopier copier = new KeyCopier(runs);
+    try (VectorContainer incoming = new VectorContainer(allocator)) {
+      incoming.buildSchema();
+      copier.setup(null, allocator, iterators, incoming, new VectorContainer(allocator));
+      int copied = 0;
+      int count;
+      while ((count = copier.copy(targetRecordCount)) > 0) {
+        assertEquals(Math.min(targetRecordCount, total - copied), count);
+        copied += count;
+      }
+      assertEquals(total, copied);
+      assertEquals(0, copier.copy(targetRecordCount));
+      copier.close();
+    }
+    return copier.copied;
+  }
+
+  private void assertMerged(int targetRecordCount, int[]... runs) throws Exception {
+    assertEquals(expected(runs), merge(targetRecordCount, runs));
+  }
+
+  @Test
+  public void testSingleRun() throws Exception {
+    assertMerged(4, new int[] {1, 2, 2, 5, 7, 9});
+  }
+
+  @Test
+  public void testTwoRuns() throws Exception {
+    assertMerged(3, new int[] {1, 3, 3, 5}, new int[] {2, 3, 4});
+    assertMerged(10, new int[] {1, 2, 3}, new int[] {4, 5, 6});
+  }
+
+  @Test
+  public void testDuplicateKeysTakeLowerRunFirst() throws Exception {
+    assertEquals(
+        Arrays.asList("0:0", "0:1", "1:0", "2:0", "2:1"),
+        merge(2, new int[] {5, 5}, new int[] {5}, new int[] {5, 5}));
+    assertEquals(
+        Arrays.asList("0:0", "1:0", "2:0", "2:1", "1:1", "0:1"),
+        merge(4, new int[] {1, 3}, new int[] {1, 2}, new int[] {1, 1}));
+  }
+
+  @Test
+  public void testRunsStartingEmpty() throws Exception {
+    assertMerged(3, new int[0], new int[] {2, 4}, new int[0], new int[] {1, 3}, new int[0]);
+    assertEquals(0, merge(3, new int[0], new int[0]).size());
+  }
+
+  @Test
+  public void testRunsEndingMidBatch() throws Exception {
+    // the short runs run out in the middle of the first and second batches
+    assertMerged(
+        8, new int[] {1}, new int[] {0, 2, 4, 6, 8, 10, 12, 14, 16, 18}, new int[] {3, 5, 7, 9});
+  }
+
+  @Test
+  public void testNonPowerOfTwoFanIns() throws Exception {
+    final Random random = new Random(42);
+    for (int fanIn : new int[] {3, 5, 7}) {
+      final int[][] runs = new int[fanIn][];
+      for (int run = 0; run < fanIn; run++) {
+        // some runs are empty and keys repeat within and across runs
+        runs[run] = random.ints(random.nextInt(50), 0, 20).sorted().toArray();
+      }
+      assertMerged(16, runs);
+      assertMerged(1, runs);
+    }
+  }
+
+  @Test
+  public void testManyBatches() throws Exception {
+    final Random random = new Random(7);
+    final int[][] runs = new int[6][];
+    for (int run = 0; run < runs.length; run++) {
+      runs[run] = random.ints(500, 0, 1000).sorted().toArray();
+    }
+    assertMerged(64, runs);
+  }
+}
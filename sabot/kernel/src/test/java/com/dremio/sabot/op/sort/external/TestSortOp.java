@@ -255,6 +255,27 @@ public class TestSortOp extends BaseTestOperator {
     }
   }
 
+  @Test
+  public void testQuickSorterSortStats() throws Exception {
+    try (AutoCloseable option = with(ExecConstants.EXTERNAL_SORT_ENABLE_SPLAY_SORT, false)) {
+      ExternalSort sort =
+          new ExternalSort(
+              PROPS.cloneWithNewReserve(1_000_000),
+              null,
+              singletonList(ordering(ID.getName(), ASCENDING, FIRST)),
+              false);
+      // enough memory to sort everything in a single memory run
+      sort.getProps().setMemLimit(100_000_000);
+      Fixtures.Table table = generator.getExpectedSortedTable();
+      OperatorStats stats =
+          validateSingle(sort, ExternalSortOperator.class, generator, table, 1000);
+
+      assertEquals(0, stats.getLongStat(ExternalSortStats.Metric.SPILL_COUNT));
+      assertEquals(20000, stats.getLongStat(ExternalSortStats.Metric.SORTED_RECORDS));
+      assertTrue(stats.getLongStat(ExternalSortStats.Metric.SORT_NANOS) > 0);
+    }
+  }
+
   @Test
   public void testMicroSpillBatches() throws Exception {
     try (AutoCloseable option = with(ExecConstants.EXTERNAL_SORT_ENABLE_MICRO_SPILL, true)) {
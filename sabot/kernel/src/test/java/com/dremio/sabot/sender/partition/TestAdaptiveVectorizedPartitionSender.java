@@ -36,6 +36,7 @@ import com.dremio.sabot.CustomGenerator;
 import com.dremio.sabot.exec.fragment.OutOfBandMessage;
 import com.dremio.sabot.exec.rpc.AccountingExecTunnel;
 import com.dremio.sabot.exec.rpc.TunnelProvider;
+import com.dremio.sabot.op.sender.partition.PartitionSenderOperator;
 import com.dremio.sabot.op.sender.partition.vectorized.AdaptiveVectorizedPartitionSenderOperator;
 import com.dremio.sabot.op.sender.partition.vectorized.VectorizedPartitionSenderOperator;
 import com.dremio.sabot.op.spi.TerminalOperator;
@@ -245,6 +246,11 @@ public class TestAdaptiveVectorizedPartitionSender extends BaseTestOperator {
       sentRowCount += rowCountPerFragment[f];
     }
     assertEquals(expectedRows, sentRowCount);
+    assertEquals(
+        msg != null && expectRRDistribution ? 1 : 0,
+        op.getOperatorContext()
+            .getStats()
+            .getLongStat(PartitionSenderOperator.Metric.OOB_SKEW_DETECTED));
   }
 
   public List<MinorFragmentIndexEndpoint> getIndexEndpoints() {
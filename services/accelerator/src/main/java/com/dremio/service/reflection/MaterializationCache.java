@@ -26,8 +26,11 @@ import com.dremio.exec.catalog.Catalog;
 import com.dremio.exec.catalog.CatalogUtil;
 import com.dremio.exec.catalog.EntityExplorer;
 import com.dremio.exec.planner.acceleration.DremioMaterialization;
+import com.dremio.exec.planner.acceleration.MaterializationCandidateIndex;
 import com.dremio.exec.planner.acceleration.descriptor.ExpandedMaterializationDescriptor;
 import com.dremio.exec.planner.acceleration.descriptor.MaterializationDescriptor;
+import com.dremio.exec.planner.acceleration.substitution.SubstitutionUtils.ExternalQueryDescriptor;
+import com.dremio.exec.planner.acceleration.substitution.SubstitutionUtils.VersionedPath;
 import com.dremio.exec.planner.common.PlannerMetrics;
 import com.dremio.exec.record.BatchSchema;
 import com.dremio.exec.store.CatalogService;
@@ -62,7 +65,10 @@ import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ConcurrentModificationException;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
@@ -83,6 +89,14 @@ class MaterializationCache {
   private final AtomicReference<Map<String, ExpandedMaterializationDescriptor>> cached =
       new AtomicReference<>(EMPTY_MAP);
 
+  // candidate index over the current cached map, rebuilt lazily after the map is swapped
+  private final AtomicReference<IndexedDescriptors> index =
+      new AtomicReference<>(new IndexedDescriptors(EMPTY_MAP));
+
+  // dataset config tag at which the schema of a cached materialization was last verified, so that
+  // unchanged datasets don't need their schema deserialized and compared on every sync
+  private final Map<String, String> verifiedSchemaTags = new ConcurrentHashMap<>();
+
   private final CountDownLatch latch;
 
   private final Meter.MeterProvider<Timer> syncHistogram;
@@ -213,15 +227,19 @@ class MaterializationCache {
     final Instant coldStart = Instant.now();
     try {
       boolean exchanged;
+      Map<String, ExpandedMaterializationDescriptor> previousAttempt = EMPTY_MAP;
       do {
         Map<String, ExpandedMaterializationDescriptor> old = cached.get();
-        Map<String, ExpandedMaterializationDescriptor> updated = updateMaterializationCache(old);
+        Map<String, ExpandedMaterializationDescriptor> updated =
+            updateMaterializationCache(old, previousAttempt);
         exchanged = cached.compareAndSet(old, updated);
         if (!exchanged) {
           logger.warn(
               "Unable to compare and set cache.  Old count: {}.  Updated count: {}",
               old.size(),
               updated.size());
+          // don't expand again what this attempt already expanded
+          previousAttempt = updated;
         }
       } while (!exchanged);
     } finally {
@@ -250,11 +268,14 @@ class MaterializationCache {
    * Because, in debug mode, this can be called from multiple threads, it must be thread-safe
    *
    * @param old existing cache
+   * @param previousAttempt descriptors from an update that lost the race to replace the cache, to
+   *     be reused for materializations no longer in {@code old}'s snapshot
    * @return updated cache
    */
   @WithSpan
   private Map<String, ExpandedMaterializationDescriptor> updateMaterializationCache(
-      Map<String, ExpandedMaterializationDescriptor> old) {
+      Map<String, ExpandedMaterializationDescriptor> old,
+      Map<String, ExpandedMaterializationDescriptor> previousAttempt) {
 
     // new list of descriptors
     final Iterable<Materialization> provided = provider.getValidMaterializations();
@@ -270,8 +291,11 @@ class MaterializationCache {
     // add any descriptor that are not already cached
     final Catalog catalog = CatalogUtil.getSystemCatalogForMaterializationCache(catalogService);
     for (Materialization materialization : provided) {
-      final ExpandedMaterializationDescriptor cachedDescriptor =
+      ExpandedMaterializationDescriptor cachedDescriptor =
           old.get(materialization.getId().getId());
+      if (cachedDescriptor == null) {
+        cachedDescriptor = previousAttempt.get(materialization.getId().getId());
+      }
       if (cachedDescriptor == null || schemaChanged(cachedDescriptor, materialization, catalog)) {
         if (updateMaterializationEntry(updated, materialization, catalog)) {
           materializationExpandCount++;
@@ -339,6 +363,7 @@ class MaterializationCache {
         .setAttribute("dremio.materialization_cache.externalExpandCount", externalExpandCount);
     Span.current()
         .setAttribute("dremio.materialization_cache.externalErrorCount", externalErrorCount);
+    verifiedSchemaTags.keySet().retainAll(updated.keySet());
     CatalogUtil.clearAllDatasetCache(catalog);
     return updated;
   }
@@ -506,11 +531,25 @@ class MaterializationCache {
       return true;
     }
 
+    final String materializationId = materialization.getId().getId();
+    final String tag = datasetConfig.getTag();
+    if (tag != null && tag.equals(verifiedSchemaTags.get(materializationId))) {
+      // dataset config is unchanged since the schema was last compared
+      return false;
+    }
+
     ByteString schemaString = datasetConfig.getRecordSchema();
     BatchSchema newSchema = BatchSchema.deserialize(schemaString);
     BatchSchema oldSchema =
         ((ExpandedMaterializationDescriptor) old).getMaterialization().getSchema();
-    return !oldSchema.equals(newSchema);
+    if (!oldSchema.equals(newSchema)) {
+      verifiedSchemaTags.remove(materializationId);
+      return true;
+    }
+    if (tag != null) {
+      verifiedSchemaTags.put(materializationId, tag);
+    }
+    return false;
   }
 
   /**
@@ -519,6 +558,7 @@ class MaterializationCache {
    * @param mId entry to be removed
    */
   void invalidate(MaterializationId mId) {
+    verifiedSchemaTags.remove(mId.getId());
     boolean exchanged;
     do {
       Map<String, ExpandedMaterializationDescriptor> old = cached.get();
@@ -567,6 +607,31 @@ class MaterializationCache {
    * the materialization cache.
    */
   Iterable<MaterializationDescriptor> getAll() {
+    awaitInitialization();
+    return Iterables.unmodifiableIterable(cached.get().values());
+  }
+
+  /**
+   * Returns the cached materialization descriptors of the reflections that may substitute into a
+   * query using the given tables, views and external queries. Blocks on initialization of the
+   * materialization cache.
+   */
+  List<MaterializationDescriptor> getCandidates(
+      Set<VersionedPath> queryTablesUsed,
+      Set<VersionedPath> queryVdsUsed,
+      Set<ExternalQueryDescriptor> externalQueries) {
+    awaitInitialization();
+    final Map<String, ExpandedMaterializationDescriptor> current = cached.get();
+    IndexedDescriptors indexed = index.get();
+    if (indexed.source != current) {
+      // concurrent planners may both rebuild, the last one to finish wins
+      indexed = new IndexedDescriptors(current);
+      index.set(indexed);
+    }
+    return indexed.index.getCandidates(queryTablesUsed, queryVdsUsed, externalQueries);
+  }
+
+  private void awaitInitialization() {
     boolean success;
     try {
       success =
@@ -580,7 +645,6 @@ class MaterializationCache {
       throw new MaterializationCacheTimeoutException(
           "Timed out waiting for materialization cache to initialize.");
     }
-    return Iterables.unmodifiableIterable(cached.get().values());
   }
 
   boolean isInitialized() {
@@ -602,6 +666,16 @@ class MaterializationCache {
     return cached.get().containsKey(mId.getId());
   }
 
+  private static final class IndexedDescriptors {
+    private final Map<String, ExpandedMaterializationDescriptor> source;
+    private final MaterializationCandidateIndex index;
+
+    private IndexedDescriptors(Map<String, ExpandedMaterializationDescriptor> source) {
+      this.source = source;
+      this.index = new MaterializationCandidateIndex(source.values());
+    }
+  }
+
   public static class MaterializationCacheTimeoutException extends RuntimeException {
     public MaterializationCacheTimeoutException(String message) {
       super(message);
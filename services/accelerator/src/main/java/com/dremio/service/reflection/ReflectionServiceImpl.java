@@ -50,6 +50,8 @@ import com.dremio.exec.planner.acceleration.MaterializationExpander;
 import com.dremio.exec.planner.acceleration.descriptor.ExpandedMaterializationDescriptor;
 import com.dremio.exec.planner.acceleration.descriptor.MaterializationDescriptor;
 import com.dremio.exec.planner.acceleration.descriptor.UnexpandedMaterializationDescriptor;
+import com.dremio.exec.planner.acceleration.substitution.SubstitutionUtils.ExternalQueryDescriptor;
+import com.dremio.exec.planner.acceleration.substitution.SubstitutionUtils.VersionedPath;
 import com.dremio.exec.planner.logical.ViewTable;
 import com.dremio.exec.planner.observer.AbstractAttemptObserver;
 import com.dremio.exec.planner.observer.AttemptObservers;
@@ -1165,16 +1167,7 @@ public class ReflectionServiceImpl extends BaseReflectionService {
       final Set<String> activeHosts = getActiveHosts();
       FluentIterable<MaterializationDescriptor> descriptors;
       if (isCacheEnabled()) {
-        descriptors =
-            FluentIterable.from(materializationCache.getAll())
-                .filter(
-                    new Predicate<MaterializationDescriptor>() {
-                      @Override
-                      public boolean apply(MaterializationDescriptor descriptor) {
-                        return descriptor.getExpirationTimestamp() > currentTime
-                            && activeHosts.containsAll(descriptor.getPartition());
-                      }
-                    });
+        descriptors = filterCached(materializationCache.getAll(), currentTime, activeHosts);
       } else {
         final Catalog catalog =
             CatalogUtil.getSystemCatalogForMaterializationCache(catalogService.get());
@@ -1226,6 +1219,42 @@ public class ReflectionServiceImpl extends BaseReflectionService {
         descriptors = descriptors.append(externalDescriptors).filter(notNull());
       }
 
+      return latestByReflection(descriptors);
+    }
+
+    @Override
+    public List<MaterializationDescriptor> get(
+        Set<VersionedPath> queryTablesUsed,
+        Set<VersionedPath> queryVdsUsed,
+        Set<ExternalQueryDescriptor> externalQueries) {
+      if (!isSubstitutionEnabled() || !isCacheEnabled()) {
+        return get();
+      }
+
+      return latestByReflection(
+          filterCached(
+              materializationCache.getCandidates(queryTablesUsed, queryVdsUsed, externalQueries),
+              System.currentTimeMillis(),
+              getActiveHosts()));
+    }
+
+    private FluentIterable<MaterializationDescriptor> filterCached(
+        Iterable<MaterializationDescriptor> cached,
+        final long currentTime,
+        final Set<String> activeHosts) {
+      return FluentIterable.from(cached)
+          .filter(
+              new Predicate<MaterializationDescriptor>() {
+                @Override
+                public boolean apply(MaterializationDescriptor descriptor) {
+                  return descriptor.getExpirationTimestamp() > currentTime
+                      && activeHosts.containsAll(descriptor.getPartition());
+                }
+              });
+    }
+
+    private List<MaterializationDescriptor> latestByReflection(
+        FluentIterable<MaterializationDescriptor> descriptors) {
       if (Iterables.isEmpty(descriptors)) {
         return Collections.emptyList();
       }
@@ -21,16 +21,25 @@ import static com.dremio.service.reflection.proto.MaterializationState.DONE;
 import static com.dremio.service.reflection.proto.MaterializationState.FAILED;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.dremio.common.exceptions.UserException;
+import com.dremio.common.expression.CompleteType;
 import com.dremio.exec.catalog.Catalog;
+import com.dremio.exec.catalog.DremioTable;
+import com.dremio.exec.planner.acceleration.DremioMaterialization;
 import com.dremio.exec.planner.acceleration.descriptor.ExpandedMaterializationDescriptor;
 import com.dremio.exec.planner.serialization.DeserializationException;
+import com.dremio.exec.record.BatchSchema;
 import com.dremio.exec.store.CatalogService;
 import com.dremio.options.OptionManager;
+import com.dremio.service.namespace.NamespaceKey;
+import com.dremio.service.namespace.dataset.proto.DatasetConfig;
 import com.dremio.service.reflection.proto.Materialization;
 import com.dremio.service.reflection.proto.MaterializationId;
 import com.dremio.service.reflection.proto.ReflectionId;
@@ -50,6 +59,8 @@ import org.mockito.quality.Strictness;
 import org.mockito.stubbing.Answer;
 
 public class TestMaterializationCache extends DremioTest {
+  private static final BatchSchema SCHEMA = BatchSchema.of(CompleteType.INT.toField("a"));
+
   @Rule public MockitoRule rule = MockitoJUnit.rule().strictness(Strictness.STRICT_STUBS);
 
   @Mock private MaterializationCache.CacheHelper provider;
@@ -203,4 +214,113 @@ public class TestMaterializationCache extends DremioTest {
     assertThat(m1.getState()).isEqualTo(DONE);
     assertThat(materializationCache.getRetryMap().getIfPresent(m1.getId())).isNotNull();
   }
+
+  private MaterializationCache newCacheWithSchema(BatchSchema schema) {
+    final DremioMaterialization materialization = mock(DremioMaterialization.class);
+    when(materialization.getSchema()).thenReturn(schema);
+    when(descriptor.getMaterialization()).thenReturn(materialization);
+    when(provider.getExternalReflections()).thenReturn(Collections.emptyList());
+    m1.setIsStale(false);
+    return new MaterializationCache(
+        provider, reflectionStatusService, catalogService, optionManager, materializationStore);
+  }
+
+  /** Makes the catalog return a dataset config with the given tag and schema. */
+  private DatasetConfig datasetConfig(String tag, BatchSchema schema) {
+    final DatasetConfig config =
+        spy(new DatasetConfig().setTag(tag).setRecordSchema(schema.toByteString()));
+    final DremioTable table = mock(DremioTable.class);
+    when(table.getDatasetConfig()).thenReturn(config);
+    when(catalog.getTable(any(NamespaceKey.class))).thenReturn(table);
+    return config;
+  }
+
+  @Test
+  public void testUnchangedTagSkipsSchemaDeserialization() throws Exception {
+    MaterializationCache materializationCache = newCacheWithSchema(SCHEMA);
+    when(provider.getValidMaterializations()).thenReturn(Arrays.asList(m1));
+    when(provider.expand(m1, catalog)).thenReturn(descriptor);
+    materializationCache.refreshMaterializationCache();
+
+    DatasetConfig config = datasetConfig("1", SCHEMA);
+    materializationCache.refreshMaterializationCache();
+    materializationCache.refreshMaterializationCache();
+    materializationCache.refreshMaterializationCache();
+
+    // compared once at tag 1, then reused without deserializing the schema again
+    verify(config, times(1)).getRecordSchema();
+    verify(provider, times(1)).expand(m1, catalog);
+    assertThat(materializationCache.get(m1.getId())).isEqualTo(descriptor);
+  }
+
+  @Test
+  public void testChangedTagOrSchemaIsCompared() throws Exception {
+    MaterializationCache materializationCache = newCacheWithSchema(SCHEMA);
+    when(provider.getValidMaterializations()).thenReturn(Arrays.asList(m1));
+    when(provider.expand(m1, catalog)).thenReturn(descriptor);
+    materializationCache.refreshMaterializationCache();
+    datasetConfig("1", SCHEMA);
+    materializationCache.refreshMaterializationCache();
+
+    // a new tag with the same schema is compared again, but the descriptor is reused
+    DatasetConfig sameSchema = datasetConfig("2", SCHEMA);
+    materializationCache.refreshMaterializationCache();
+    verify(sameSchema, times(1)).getRecordSchema();
+    verify(provider, times(1)).expand(m1, catalog);
+
+    // a new tag with another schema expands the materialization again
+    DatasetConfig otherSchema =
+        datasetConfig("3", BatchSchema.of(CompleteType.VARCHAR.toField("a")));
+    materializationCache.refreshMaterializationCache();
+    verify(otherSchema, times(1)).getRecordSchema();
+    verify(provider, times(2)).expand(m1, catalog);
+  }
+
+  @Test
+  public void testInvalidateForgetsVerifiedTag() throws Exception {
+    MaterializationCache materializationCache = newCacheWithSchema(SCHEMA);
+    when(provider.getValidMaterializations()).thenReturn(Arrays.asList(m1));
+    when(provider.expand(m1, catalog)).thenReturn(descriptor);
+    materializationCache.refreshMaterializationCache();
+    DatasetConfig config = datasetConfig("1", SCHEMA);
+    materializationCache.refreshMaterializationCache();
+    verify(config, times(1)).getRecordSchema();
+
+    materializationCache.invalidate(m1.getId());
+    assertThat(materializationCache.get(m1.getId())).isNull();
+
+    // expanded again, then compared again even though the tag is unchanged
+    materializationCache.refreshMaterializationCache();
+    verify(provider, times(2)).expand(m1, catalog);
+    materializationCache.refreshMaterializationCache();
+    verify(config, times(2)).getRecordSchema();
+  }
+
+  @Test
+  public void testRetryAfterFailedCompareAndSetReusesExpandedDescriptors() throws Exception {
+    MaterializationCache materializationCache = newCacheWithSchema(SCHEMA);
+    when(provider.getValidMaterializations()).thenReturn(Arrays.asList(m1));
+    when(provider.expand(m1, catalog)).thenReturn(descriptor);
+    materializationCache.refreshMaterializationCache();
+    datasetConfig("1", SCHEMA);
+
+    Materialization m2 = new Materialization();
+    m2.setReflectionId(new ReflectionId("r2"));
+    m2.setId(new MaterializationId("def"));
+    m2.setIsStale(false);
+    when(provider.getValidMaterializations()).thenReturn(Arrays.asList(m1, m2));
+    // the cache changes while m2 is expanded, so the first attempt fails to replace it
+    when(provider.expand(m2, catalog))
+        .thenAnswer(
+            invocation -> {
+              materializationCache.invalidate(m1.getId());
+              return descriptor;
+            });
+    materializationCache.refreshMaterializationCache();
+
+    verify(provider, times(1)).expand(m1, catalog);
+    verify(provider, times(1)).expand(m2, catalog);
+    assertThat(materializationCache.get(m1.getId())).isEqualTo(descriptor);
+    assertThat(materializationCache.get(m2.getId())).isEqualTo(descriptor);
+  }
 }
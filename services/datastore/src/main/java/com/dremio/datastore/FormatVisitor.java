@@ -82,6 +82,27 @@ public interface FormatVisitor<RET> {
       Class<OUTER> clazz, Converter<OUTER, INNER> converter, Format<INNER> inner)
       throws DatastoreFatalException;
 
+  /**
+   * Visits a wrapped format whose values are exported to JSON with a format of their own rather
+   * than through the inner format. Visitors that don't deal with JSON treat it as a plain wrapped
+   * format.
+   *
+   * @param <OUTER> the outside type. It is visible to the user (equivalent to Format<OUTER>)
+   * @param <INNER> the inside type. Not visible to the user
+   * @param clazz the class of the object represented by this format (equivalent to Class<OUTER>)
+   * @param converter the converter between outer and inner type
+   * @param inner the inner format
+   * @param jsonFormat the format used to convert values to and from JSON
+   */
+  default <OUTER, INNER> RET visitWrappedFormat(
+      Class<OUTER> clazz,
+      Converter<OUTER, INNER> converter,
+      Format<INNER> inner,
+      Format<OUTER> jsonFormat)
+      throws DatastoreFatalException {
+    return visitWrappedFormat(clazz, converter, inner);
+  }
+
   <P extends com.google.protobuf.Message> RET visitProtobufFormat(Class<P> clazz)
       throws DatastoreFatalException;
 
@@ -95,4 +95,44 @@ public abstract class Serializer<IN, OUT> extends Converter<IN, OUT> {
       Converter<IN, MID> in2mid, Serializer<MID, OUT> mid2out) {
     return new WrappedSerializer<>(in2mid, mid2out);
   }
+
+  private static final class WithJsonSerializer<IN, OUT> extends Serializer<IN, OUT> {
+
+    private final Serializer<IN, OUT> serializer;
+    private final Serializer<IN, ?> jsonSerializer;
+
+    private WithJsonSerializer(Serializer<IN, OUT> serializer, Serializer<IN, ?> jsonSerializer) {
+      this.serializer = serializer;
+      this.jsonSerializer = jsonSerializer;
+    }
+
+    @Override
+    public OUT convert(IN v) {
+      return serializer.serialize(v);
+    }
+
+    @Override
+    public IN revert(OUT v) {
+      return serializer.deserialize(v);
+    }
+
+    @Override
+    public String toJson(IN v) throws IOException {
+      return jsonSerializer.toJson(v);
+    }
+
+    @Override
+    public IN fromJson(String v) throws IOException {
+      return jsonSerializer.fromJson(v);
+    }
+  }
+
+  /**
+   * Creates a serializer that serializes with the first serializer and converts to and from JSON
+   * with the second one.
+   */
+  public static <IN, OUT> Serializer<IN, OUT> withJson(
+      Serializer<IN, OUT> serializer, Serializer<IN, ?> jsonSerializer) {
+    return new WithJsonSerializer<>(serializer, jsonSerializer);
+  }
 }
@@ -123,6 +123,26 @@ public interface Format<T> {
     return new WrappedFormat<>(in, nestedFormat, converter);
   }
 
+  /**
+   * Creates a wrapped format that is a nestedFormat underneath, but converts values to and from
+   * JSON, e.g. in backups, with jsonFormat. This allows changing how values are stored without
+   * changing their JSON representation.
+   *
+   * @param converter - Converts the wrapped type to the nested type.
+   * @param nestedFormat - The format of the nested type.
+   * @param jsonFormat - The format used to convert the wrapped type to and from JSON.
+   * @param <IN> - The input type.
+   * @param <NESTED> - The nested type that the input type is converted into.
+   * @return a Format for a converted type.
+   */
+  static <IN, NESTED> Format<IN> wrapped(
+      Class<IN> in,
+      Converter<IN, NESTED> converter,
+      Format<NESTED> nestedFormat,
+      Format<IN> jsonFormat) {
+    return new WrappedFormat<>(in, nestedFormat, converter, jsonFormat);
+  }
+
   /**
    * Sometimes it would be verbose to specify a full converter because the functions to convert are
    * already at hand.
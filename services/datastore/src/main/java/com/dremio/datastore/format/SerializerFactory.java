@@ -43,6 +43,19 @@ public interface SerializerFactory<STORE> extends FormatVisitor<Serializer<?, ST
     return Serializer.wrap(converter, (Serializer<INNER, STORE>) inner.apply(this));
   }
 
+  @Override
+  @SuppressWarnings("unchecked")
+  default <OUTER, INNER> Serializer<OUTER, STORE> visitWrappedFormat(
+      Class<OUTER> clazz,
+      Converter<OUTER, INNER> converter,
+      Format<INNER> inner,
+      Format<OUTER> jsonFormat)
+      throws DatastoreFatalException {
+    return Serializer.withJson(
+        visitWrappedFormat(clazz, converter, inner),
+        (Serializer<OUTER, STORE>) jsonFormat.apply(this));
+  }
+
   @Override
   Serializer<UUID, STORE> visitUUIDFormat() throws DatastoreFatalException;
 
@@ -29,11 +29,21 @@ public final class WrappedFormat<OUTER, INNER> implements Format<OUTER> {
   private final Class<OUTER> clazz;
   private final Format<INNER> nestedFormat;
   private final Converter<OUTER, INNER> in2out;
+  private final Format<OUTER> jsonFormat;
 
   WrappedFormat(Class<OUTER> clazz, Format<INNER> innerFormat, Converter<OUTER, INNER> in2out) {
+    this(clazz, innerFormat, in2out, null);
+  }
+
+  WrappedFormat(
+      Class<OUTER> clazz,
+      Format<INNER> innerFormat,
+      Converter<OUTER, INNER> in2out,
+      Format<OUTER> jsonFormat) {
     this.clazz = clazz;
     this.nestedFormat = innerFormat;
     this.in2out = in2out;
+    this.jsonFormat = jsonFormat;
   }
 
   @Override
@@ -43,7 +53,9 @@ public final class WrappedFormat<OUTER, INNER> implements Format<OUTER> {
 
   @Override
   public <RET> RET apply(FormatVisitor<RET> visitor) throws DatastoreFatalException {
-
+    if (jsonFormat != null) {
+      return visitor.visitWrappedFormat(clazz, in2out, nestedFormat, jsonFormat);
+    }
     return visitor.visitWrappedFormat(clazz, in2out, nestedFormat);
   }
 }
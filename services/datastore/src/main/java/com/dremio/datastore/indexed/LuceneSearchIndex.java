@@ -21,12 +21,14 @@ import static java.lang.String.format;
 import com.dremio.datastore.CoreIndexedStore;
 import com.dremio.datastore.WarningTimer;
 import com.dremio.datastore.indexed.CommitWrapper.CommitCloser;
+import com.dremio.telemetry.api.metrics.TimerUtils;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Throwables;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableList;
+import io.micrometer.core.instrument.Timer;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
@@ -35,6 +37,7 @@ import java.util.List;
 import java.util.Random;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import org.apache.lucene.analysis.core.KeywordAnalyzer;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.index.ConcurrentMergeScheduler;
@@ -225,6 +228,12 @@ public class LuceneSearchIndex implements AutoCloseable {
 
   private volatile boolean reindexing = false;
 
+  // sequence numbers of the latest write, and of the latest write visible to the searcher
+  // manager. Searches only refresh the searcher manager after a write, instead of checking the
+  // reader against the writer on every call.
+  private final AtomicLong lastWriteSeqNo = new AtomicLong();
+  private final AtomicLong refreshedSeqNo = new AtomicLong();
+
   // the search version number is composed of 32-bit fixed random number and a 32-bit monotonic
   // counter.
   private final int searchVersionBase = new Random().nextInt();
@@ -314,15 +323,28 @@ public class LuceneSearchIndex implements AutoCloseable {
   }
 
   private void checkIfChanged() {
+    final long seqNo = lastWriteSeqNo.get();
+    if (seqNo <= refreshedSeqNo.get()) {
+      return;
+    }
     try {
-      if (!searcherManager.isSearcherCurrent()) {
-        searcherManager.maybeRefreshBlocking();
-      }
+      // writes up to seqNo have completed, so they are visible once the refresh is done.
+      searcherManager.maybeRefreshBlocking();
+      refreshedSeqNo.accumulateAndGet(seqNo, Math::max);
     } catch (IOException ex) {
       throw Throwables.propagate(ex);
     }
   }
 
+  private void written(long seqNo) {
+    lastWriteSeqNo.accumulateAndGet(seqNo, Math::max);
+  }
+
+  private Timer.ResourceSample timed(String op) {
+    return TimerUtils.timedHistogram(
+        METRIC_PREFIX + ".operations", "Timed Lucene index operations", "name", name, "op", op);
+  }
+
   protected void commit() throws IOException {
     try (CommitCloser committer = commitWrapper.open(name)) {
       writer.commit();
@@ -337,7 +359,7 @@ public class LuceneSearchIndex implements AutoCloseable {
     committerThread.throwExceptionIfAny();
     Preconditions.checkNotNull(document.getField(CoreIndexedStore.ID_FIELD_NAME));
     try {
-      writer.addDocument(document);
+      written(writer.addDocument(document));
     } catch (IOException ex) {
       throw Throwables.propagate(ex);
     }
@@ -347,7 +369,7 @@ public class LuceneSearchIndex implements AutoCloseable {
     committerThread.throwExceptionIfAny();
     try {
       for (Document d : documents) {
-        writer.addDocument(d);
+        written(writer.addDocument(d));
       }
     } catch (IOException ex) {
       throw Throwables.propagate(ex);
@@ -357,7 +379,7 @@ public class LuceneSearchIndex implements AutoCloseable {
   public void update(Term term, Document document) {
     committerThread.throwExceptionIfAny();
     try {
-      writer.updateDocument(term, document);
+      written(writer.updateDocument(term, document));
     } catch (IOException ex) {
       throw Throwables.propagate(ex);
     }
@@ -366,9 +388,13 @@ public class LuceneSearchIndex implements AutoCloseable {
   public int count(final Query query) {
     committerThread.throwExceptionIfAny();
     checkIfChanged();
-    try (Searcher searcher = acquireSearcher()) {
-      return searcher.count(query);
-    }
+    return TimerUtils.timedOperation(
+        timed("count"),
+        () -> {
+          try (Searcher searcher = acquireSearcher()) {
+            return searcher.count(query);
+          }
+        });
   }
 
   public List<Integer> count(final List<Query> queries) {
@@ -482,7 +508,13 @@ public class LuceneSearchIndex implements AutoCloseable {
     checkIfChanged();
     Preconditions.checkArgument(skip > -1, "Skip must be zero or greater. Was %s.", skip);
 
-    Searcher searcher = searchHandle.getCachedSearcher();
+    return TimerUtils.timedExceptionThrowingOperation(
+        timed("search"),
+        () -> search(searchHandle.getCachedSearcher(), query, pageSize, sort, skip));
+  }
+
+  private List<Doc> search(Searcher searcher, Query query, int pageSize, Sort sort, int skip)
+      throws IOException {
     if (skip == 0) {
       // don't skip anything.
       final TopDocs fieldDocs = searcher.search(query, pageSize, sort);
@@ -509,12 +541,16 @@ public class LuceneSearchIndex implements AutoCloseable {
       throws IOException {
     committerThread.throwExceptionIfAny();
 
-    Searcher searcher = searchHandle.getCachedSearcher();
-    TopDocs fieldDocs = searcher.searchAfter(doc.doc, query, pageSize, sort);
-    if (fieldDocs == null) {
-      return ImmutableList.of();
-    }
-    return toDocs(fieldDocs.scoreDocs, searcher);
+    return TimerUtils.timedExceptionThrowingOperation(
+        timed("search_after"),
+        () -> {
+          Searcher searcher = searchHandle.getCachedSearcher();
+          TopDocs fieldDocs = searcher.searchAfter(doc.doc, query, pageSize, sort);
+          if (fieldDocs == null) {
+            return ImmutableList.<Doc>of();
+          }
+          return toDocs(fieldDocs.scoreDocs, searcher);
+        });
   }
 
   @VisibleForTesting
@@ -555,7 +591,7 @@ public class LuceneSearchIndex implements AutoCloseable {
   public void deleteDocuments(Term key) {
     committerThread.throwExceptionIfAny();
     try {
-      writer.deleteDocuments(key);
+      written(writer.deleteDocuments(key));
     } catch (IOException ex) {
       throw Throwables.propagate(ex);
     }
@@ -564,7 +600,7 @@ public class LuceneSearchIndex implements AutoCloseable {
   public void delete() {
     committerThread.throwExceptionIfAny();
     try {
-      writer.deleteAll();
+      written(writer.deleteAll());
       commit();
       // Forcing refresh of index so that open files are freed and deleted from disk
       checkIfChanged();
@@ -726,7 +762,7 @@ public class LuceneSearchIndex implements AutoCloseable {
   @VisibleForTesting
   public void deleteEverything() throws IOException {
     committerThread.throwExceptionIfAny();
-    writer.deleteAll();
+    written(writer.deleteAll());
     commit();
   }
 }
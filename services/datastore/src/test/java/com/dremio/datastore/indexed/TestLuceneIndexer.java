@@ -153,6 +153,34 @@ public class TestLuceneIndexer {
     }
   }
 
+  @Test
+  public void testUpdatesAndDeletesAreVisible() throws Exception {
+    try (LuceneSearchIndex index = new LuceneSearchIndex(null, "test", true, CommitWrapper.NO_OP)) {
+      final Term id = new Term(CoreIndexedStore.ID_FIELD_NAME, new BytesRef("1".getBytes()));
+      final Query u1 = new TermQuery(new Term("user", "u1"));
+      final Query u2 = new TermQuery(new Term("user", "u2"));
+
+      final Document doc = new Document();
+      doc.add(new StringField(CoreIndexedStore.ID_FIELD_NAME, id.bytes(), Store.YES));
+      doc.add(new StringField("user", "u1", Store.YES));
+      index.add(doc);
+      assertEquals(1, index.count(u1));
+      // no writes in between, served from the same searcher
+      assertEquals(1, index.count(u1));
+
+      final Document updated = new Document();
+      updated.add(new StringField(CoreIndexedStore.ID_FIELD_NAME, id.bytes(), Store.YES));
+      updated.add(new StringField("user", "u2", Store.YES));
+      index.update(id, updated);
+      assertEquals(0, index.count(u1));
+      assertEquals(1, index.count(u2));
+
+      index.deleteDocuments(id);
+      assertEquals(0, index.count(u2));
+      assertEquals(0, index.getLiveRecords());
+    }
+  }
+
   @Test
   public void testContainsQuery() throws IOException {
     try (LuceneSearchIndex index = new LuceneSearchIndex(null, "test", true, CommitWrapper.NO_OP)) {
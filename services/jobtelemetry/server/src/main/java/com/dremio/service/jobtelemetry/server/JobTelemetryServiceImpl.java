@@ -31,6 +31,7 @@ import com.dremio.service.jobtelemetry.PutExecutorProfileRequest;
 import com.dremio.service.jobtelemetry.PutPlanningProfileRequest;
 import com.dremio.service.jobtelemetry.PutTailProfileRequest;
 import com.dremio.service.jobtelemetry.server.store.ProfileStore;
+import com.dremio.telemetry.api.metrics.TimerUtils;
 import com.dremio.telemetry.utils.GrpcTracerFacade;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Throwables;
@@ -236,8 +237,12 @@ public class JobTelemetryServiceImpl extends JobTelemetryServiceGrpc.JobTelemetr
       throw new IllegalArgumentException("Profile not found for the given queryId.");
     }
 
-    return ProfileMerger.merge(
-        planningProfileFuture.get(), tailProfileFuture.get(), executorsProfilesFuture.get());
+    final QueryProfile planningProfile = planningProfileFuture.get();
+    final QueryProfile tailProfile = tailProfileFuture.get();
+    final Stream<ExecutorQueryProfile> executorProfiles = executorsProfilesFuture.get();
+    return TimerUtils.timedOperation(
+        TimerUtils.timedHistogram("jobtelemetry.profile_merge", "Time taken to merge a profile"),
+        () -> ProfileMerger.merge(planningProfile, tailProfile, executorProfiles));
   }
 
   private boolean isTerminal(QueryState state) {
@@ -27,17 +27,21 @@ import com.dremio.exec.proto.UserBitShared.QueryProfile;
 import com.google.common.base.Preconditions;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-/** Merger for all portions of a query profile. */
+/**
+ * Merger for all portions of a query profile. The executor profiles are consumed in a single pass,
+ * with the phase profiles grown on demand as new major fragment ids are seen.
+ */
 final class ProfileMerger {
   private final QueryProfile planningProfile;
   private final QueryProfile tailProfile;
-  private final List<ExecutorQueryProfile> executorQueryProfiles;
+  private final Stream<ExecutorQueryProfile> executorProfiles;
   private final List<NodeQueryProfile> nodeProfiles = new ArrayList<>();
-  private final List<MajorFragmentProfile.Builder> phaseProfiles;
+  private final List<MajorFragmentProfile.Builder> phaseProfiles = new ArrayList<>();
+  // weight reported for each phase, -1 until an executor reports one.
+  private final List<Integer> phaseWeights = new ArrayList<>();
   private int totalFragments;
   private int finishedFragments;
 
@@ -47,45 +51,17 @@ final class ProfileMerger {
       Stream<ExecutorQueryProfile> executorProfiles) {
     this.planningProfile = planningProfile;
     this.tailProfile = tailProfile;
-    this.executorQueryProfiles = executorProfiles.collect(Collectors.toList());
-    this.phaseProfiles = createEmptyPhaseProfiles();
+    this.executorProfiles = executorProfiles;
   }
 
-  private List<MajorFragmentProfile.Builder> createEmptyPhaseProfiles() {
-    Map<Integer, Integer> phaseWeights =
-        executorQueryProfiles.stream()
-            .flatMap(
-                executorProfile -> executorProfile.getNodeStatus().getPhaseStatusList().stream())
-            .collect(
-                Collectors.toMap(
-                    NodePhaseStatus::getMajorFragmentId,
-                    (v) -> (v.hasPhaseWeight() ? v.getPhaseWeight() : -1),
-                    (v1, v2) -> v1 >= 0 ? v1 : v2));
-
-    // find the max major fragment id.
-    // this should work even if the phase list, and the fragment list are inconsistent.
-    int maxPhaseId = phaseWeights.keySet().stream().mapToInt(x -> x).max().orElse(-1);
-
-    int maxFragmentPhaseId =
-        executorQueryProfiles.stream()
-            .flatMap(executorProfile -> executorProfile.getFragmentsList().stream())
-            .mapToInt(frag -> frag.getHandle().getMajorFragmentId())
-            .max()
-            .orElse(-1);
-
-    maxPhaseId = Integer.max(maxPhaseId, maxFragmentPhaseId);
-
-    // create empty profiles for all phases.
-    List<MajorFragmentProfile.Builder> phaseList = new ArrayList<>();
-    for (int i = 0; i <= maxPhaseId; i++) {
-      final int phaseWeight = phaseWeights.getOrDefault(i, -1);
-      MajorFragmentProfile.Builder mfb = MajorFragmentProfile.newBuilder().setMajorFragmentId(i);
-      if (phaseWeight > 0) {
-        mfb = mfb.setPhaseWeight(phaseWeight);
-      }
-      phaseList.add(mfb);
+  // create empty profiles for all phases up to, and including, the given one.
+  // this should work even if the phase list, and the fragment list are inconsistent.
+  private MajorFragmentProfile.Builder getPhaseProfile(int phaseId) {
+    for (int i = phaseProfiles.size(); i <= phaseId; i++) {
+      phaseProfiles.add(MajorFragmentProfile.newBuilder().setMajorFragmentId(i));
+      phaseWeights.add(-1);
     }
-    return phaseList;
+    return phaseProfiles.get(phaseId);
   }
 
   static QueryProfile merge(
@@ -114,9 +90,17 @@ final class ProfileMerger {
     }
 
     // fill up details from the executor profiles.
-    executorQueryProfiles.forEach(this::processExecutorProfile);
+    executorProfiles.forEach(this::processExecutorProfile);
     maxTotalFragments = Math.max(maxTotalFragments, totalFragments);
 
+    // the first non-negative weight reported for a phase wins.
+    for (int i = 0; i < phaseProfiles.size(); i++) {
+      final int phaseWeight = phaseWeights.get(i);
+      if (phaseWeight > 0) {
+        phaseProfiles.get(i).setPhaseWeight(phaseWeight);
+      }
+    }
+
     return builder
         .addAllNodeProfile(nodeProfiles)
         .addAllFragmentProfile(
@@ -155,13 +139,16 @@ final class ProfileMerger {
               .setEndpoint(executorProfile.getEndpoint())
               .setMaxMemoryUsed(nodePhaseStatus.getMaxMemoryUsed())
               .build();
-      phaseProfiles.get(phaseId).addNodePhaseProfile(nodePhaseProfile);
+      getPhaseProfile(phaseId).addNodePhaseProfile(nodePhaseProfile);
+      if (nodePhaseStatus.hasPhaseWeight() && phaseWeights.get(phaseId) < 0) {
+        phaseWeights.set(phaseId, nodePhaseStatus.getPhaseWeight());
+      }
     }
 
     // update fragment status for each phase.
     for (FragmentStatus fragmentStatus : executorProfile.getFragmentsList()) {
       int phaseId = fragmentStatus.getHandle().getMajorFragmentId();
-      phaseProfiles.get(phaseId).addMinorFragmentProfile(fragmentStatus.getProfile());
+      getPhaseProfile(phaseId).addMinorFragmentProfile(fragmentStatus.getProfile());
 
       ++totalFragments;
       if (isTerminal(fragmentStatus.getProfile().getState())) {
@@ -27,12 +27,13 @@ import com.dremio.datastore.format.Format;
 import com.dremio.exec.proto.CoordExecRPC;
 import com.dremio.exec.proto.CoordinationProtos;
 import com.dremio.exec.proto.UserBitShared;
+import com.dremio.telemetry.api.metrics.SimpleCounter;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 import org.slf4j.Logger;
@@ -41,6 +42,11 @@ import org.slf4j.LoggerFactory;
 /**
  * Implementation of profile store, keeps all profiles except the full-profile in-memory. The full
  * profile goes to local kvstore.
+ *
+ * <p>The in-memory profiles are kept in concurrent maps, so that updates from many executors and
+ * queries do not contend on a single lock. A profile put concurrently with the deletion of its
+ * query is removed again by the put, since the query is marked deleted before its profiles are
+ * removed.
  */
 public class LocalProfileStore implements ProfileStore {
   private static final Logger LOGGER = LoggerFactory.getLogger(LocalProfileStore.class);
@@ -48,13 +54,18 @@ public class LocalProfileStore implements ProfileStore {
   // TODO: switch to "profiles" after removing this store in LocalJobsService
   public static final String PROFILES_NAME = "profiles";
 
+  private static final SimpleCounter EXECUTOR_PROFILES_RECEIVED_COUNTER =
+      SimpleCounter.of(
+          "jobtelemetry.executor_profiles_received",
+          "Number of executor profile updates received");
+
   private final LegacyKVStoreProvider kvStoreProvider;
   private final Map<UserBitShared.QueryId, UserBitShared.QueryProfile> planningProfiles =
-      new HashMap<>();
+      new ConcurrentHashMap<>();
   private final Map<UserBitShared.QueryId, UserBitShared.QueryProfile> tailProfiles =
-      new HashMap<>();
+      new ConcurrentHashMap<>();
   private final Map<UserBitShared.QueryId, Map<String, CoordExecRPC.ExecutorQueryProfile>>
-      executorMap = new HashMap<>();
+      executorMap = new ConcurrentHashMap<>();
   private LegacyKVStore<AttemptId, UserBitShared.QueryProfile> fullProfileStore;
 
   // To ensure we don't create sub-profiles after a query has terminated,
@@ -76,32 +87,35 @@ public class LocalProfileStore implements ProfileStore {
   }
 
   @Override
-  public synchronized void putPlanningProfile(
+  public void putPlanningProfile(
       UserBitShared.QueryId queryId, UserBitShared.QueryProfile profile) {
-    if (deletedQueryIds.asMap().containsKey(queryId)) {
+    if (isDeleted(queryId)) {
       return;
     }
     planningProfiles.put(queryId, profile);
+    if (isDeleted(queryId)) {
+      planningProfiles.remove(queryId);
+    }
   }
 
   @Override
-  public synchronized Optional<UserBitShared.QueryProfile> getPlanningProfile(
-      UserBitShared.QueryId queryId) {
+  public Optional<UserBitShared.QueryProfile> getPlanningProfile(UserBitShared.QueryId queryId) {
     return Optional.ofNullable(planningProfiles.get(queryId));
   }
 
   @Override
-  public synchronized void putTailProfile(
-      UserBitShared.QueryId queryId, UserBitShared.QueryProfile profile) {
-    if (deletedQueryIds.asMap().containsKey(queryId)) {
+  public void putTailProfile(UserBitShared.QueryId queryId, UserBitShared.QueryProfile profile) {
+    if (isDeleted(queryId)) {
       return;
     }
     tailProfiles.put(queryId, profile);
+    if (isDeleted(queryId)) {
+      tailProfiles.remove(queryId);
+    }
   }
 
   @Override
-  public synchronized Optional<UserBitShared.QueryProfile> getTailProfile(
-      UserBitShared.QueryId queryId) {
+  public Optional<UserBitShared.QueryProfile> getTailProfile(UserBitShared.QueryId queryId) {
     return Optional.ofNullable(tailProfiles.get(queryId));
   }
 
@@ -116,7 +130,7 @@ public class LocalProfileStore implements ProfileStore {
   }
 
   @Override
-  public synchronized void putExecutorProfile(
+  public void putExecutorProfile(
       UserBitShared.QueryId queryId,
       CoordinationProtos.NodeEndpoint endpoint,
       CoordExecRPC.ExecutorQueryProfile profile,
@@ -124,23 +138,21 @@ public class LocalProfileStore implements ProfileStore {
     if (LOGGER.isDebugEnabled()) {
       LOGGER.debug("Updating profile store for query id {}", QueryIdHelper.getQueryId(queryId));
     }
+    EXECUTOR_PROFILES_RECEIVED_COUNTER.increment();
 
-    if (deletedQueryIds.asMap().containsKey(queryId)) {
+    if (isDeleted(queryId)) {
       return;
     }
-    executorMap.compute(
-        queryId,
-        (key, value) -> {
-          if (value == null) {
-            value = new HashMap<>();
-          }
-          value.put(EndpointHelper.getMinimalString(endpoint), profile);
-          return value;
-        });
+    executorMap
+        .computeIfAbsent(queryId, key -> new ConcurrentHashMap<>())
+        .put(EndpointHelper.getMinimalString(endpoint), profile);
+    if (isDeleted(queryId)) {
+      executorMap.remove(queryId);
+    }
   }
 
   @Override
-  public synchronized Stream<CoordExecRPC.ExecutorQueryProfile> getAllExecutorProfiles(
+  public Stream<CoordExecRPC.ExecutorQueryProfile> getAllExecutorProfiles(
       UserBitShared.QueryId queryId) {
     Map<String, CoordExecRPC.ExecutorQueryProfile> innerMap = executorMap.get(queryId);
 
@@ -148,13 +160,18 @@ public class LocalProfileStore implements ProfileStore {
   }
 
   @Override
-  public synchronized void deleteSubProfiles(UserBitShared.QueryId queryId) {
+  public void deleteSubProfiles(UserBitShared.QueryId queryId) {
+    // mark the query deleted first, so that concurrent puts clean up after themselves.
     deletedQueryIds.put(queryId, Boolean.TRUE);
     planningProfiles.remove(queryId);
     tailProfiles.remove(queryId);
     executorMap.remove(queryId);
   }
 
+  private boolean isDeleted(UserBitShared.QueryId queryId) {
+    return deletedQueryIds.asMap().containsKey(queryId);
+  }
+
   @Override
   public void deleteProfile(UserBitShared.QueryId queryId) {
     deleteSubProfiles(queryId);
@@ -178,7 +195,7 @@ public class LocalProfileStore implements ProfileStore {
     legacyProfileStore.delete(attemptId);
   }
 
-  /** Creator for full profiles kvstore. */
+  /** Creator for full profiles kvstore. Profiles are stored compressed by {@link ProfileCodec}. */
   public static final class KVProfileStoreCreator
       implements LegacyKVStoreCreationFunction<AttemptId, UserBitShared.QueryProfile> {
     @Override
@@ -193,7 +210,7 @@ public class LocalProfileStore implements ProfileStore {
                   AttemptIdUtils::toString,
                   AttemptIdUtils::fromString,
                   Format.ofString()))
-          .valueFormat(Format.ofProtobuf(UserBitShared.QueryProfile.class))
+          .valueFormat(ProfileCodec.FORMAT)
           .build();
     }
   }
@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.service.jobtelemetry.server.store;
+
+import com.dremio.datastore.Converter;
+import com.dremio.datastore.format.Format;
+import com.dremio.exec.proto.UserBitShared.QueryProfile;
+import com.dremio.telemetry.api.metrics.SimpleCounter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Encodes full query profiles for the profiles kvstore. Profiles are deflated, as the operator and
+ * fragment profiles of large queries are highly repetitive.
+ *
+ * <p>Compressed values start with a marker byte that can never start a serialized protobuf message
+ * (field number 0 is invalid), so values written before compression was introduced are still read
+ * as plain protobuf.
+ */
+final class ProfileCodec {
+  private static final byte COMPRESSED_MARKER = 0;
+
+  private static final SimpleCounter PROFILE_BYTES_COUNTER =
+      SimpleCounter.of(
+          "jobtelemetry.profile_bytes", "Serialized size of the full profiles written");
+  private static final SimpleCounter PROFILE_STORED_BYTES_COUNTER =
+      SimpleCounter.of(
+          "jobtelemetry.profile_stored_bytes", "Stored size of the full profiles written");
+
+  /**
+   * Format of the profiles kvstore values. Profiles are converted to and from JSON, e.g. in
+   * backups, as plain protobuf messages, the same as before they were compressed.
+   */
+  static final Format<QueryProfile> FORMAT =
+      Format.wrapped(
+          QueryProfile.class,
+          new Converter<QueryProfile, byte[]>() {
+            @Override
+            public byte[] convert(QueryProfile v) {
+              return encode(v);
+            }
+
+            @Override
+            public QueryProfile revert(byte[] v) {
+              return decode(v);
+            }
+          },
+          Format.ofBytes(),
+          Format.ofProtobuf(QueryProfile.class));
+
+  private ProfileCodec() {}
+
+  static byte[] encode(QueryProfile profile) {
+    final int serializedSize = profile.getSerializedSize();
+    final ByteArrayOutputStream out = new ByteArrayOutputStream(serializedSize / 4 + 16);
+    out.write(COMPRESSED_MARKER);
+
+    final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    try (DeflaterOutputStream deflaterOut = new DeflaterOutputStream(out, deflater)) {
+      profile.writeTo(deflaterOut);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } finally {
+      deflater.end();
+    }
+
+    final byte[] bytes = out.toByteArray();
+    PROFILE_BYTES_COUNTER.increment(serializedSize);
+    PROFILE_STORED_BYTES_COUNTER.increment(bytes.length);
+    return bytes;
+  }
+
+  static QueryProfile decode(byte[] bytes) {
+    if (bytes.length == 0 || bytes[0] != COMPRESSED_MARKER) {
+      try {
+        return QueryProfile.parseFrom(bytes);
+      } catch (IOException e) {
+        throw new IllegalArgumentException(e);
+      }
+    }
+
+    final Inflater inflater = new Inflater();
+    try (InputStream in =
+        new InflaterInputStream(
+            new ByteArrayInputStream(bytes, 1, bytes.length - 1), inflater)) {
+      return QueryProfile.parseFrom(in);
+    } catch (IOException e) {
+      throw new IllegalArgumentException(e);
+    } finally {
+      inflater.end();
+    }
+  }
+}
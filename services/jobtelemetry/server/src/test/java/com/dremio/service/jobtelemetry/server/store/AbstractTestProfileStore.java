@@ -25,7 +25,12 @@ import com.dremio.exec.proto.CoordExecRPC;
 import com.dremio.exec.proto.CoordinationProtos;
 import com.dremio.exec.proto.UserBitShared;
 import com.google.protobuf.Message;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.junit.After;
@@ -185,6 +190,34 @@ public abstract class AbstractTestProfileStore {
             profileStore.getAllExecutorProfiles(queryId)));
   }
 
+  @Test
+  public void testConcurrentExecutorProfiles() throws Exception {
+    final UserBitShared.QueryId queryId =
+        UserBitShared.QueryId.newBuilder().setPart1(1020).setPart2(2040).build();
+    final int numExecutors = 64;
+
+    ExecutorService executorService = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < numExecutors; i++) {
+        final CoordinationProtos.NodeEndpoint endpoint =
+            CoordinationProtos.NodeEndpoint.newBuilder().setAddress("10.10.30." + i).build();
+        final CoordExecRPC.ExecutorQueryProfile profile =
+            CoordExecRPC.ExecutorQueryProfile.newBuilder().setEndpoint(endpoint).build();
+        futures.add(
+            executorService.submit(
+                () -> profileStore.putExecutorProfile(queryId, endpoint, profile, false)));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executorService.shutdown();
+    }
+
+    assertEquals(numExecutors, profileStore.getAllExecutorProfiles(queryId).count());
+  }
+
   private static <T extends Message> boolean compareUnordered(Stream<T> left, Stream<T> right) {
     Set<T> leftSet = left.collect(Collectors.toSet());
     Set<T> rightSet = right.collect(Collectors.toSet());
@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.service.jobtelemetry.server.store;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.dremio.datastore.ByteSerializerFactory;
+import com.dremio.datastore.Serializer;
+import com.dremio.datastore.format.Format;
+import com.dremio.exec.proto.UserBitShared;
+import org.junit.Test;
+
+/** Tests for {@link ProfileCodec}. */
+public class TestProfileCodec {
+
+  private static UserBitShared.QueryProfile newProfile(int numFragments) {
+    UserBitShared.MajorFragmentProfile.Builder phase =
+        UserBitShared.MajorFragmentProfile.newBuilder().setMajorFragmentId(0);
+    for (int i = 0; i < numFragments; i++) {
+      phase.addMinorFragmentProfile(
+          UserBitShared.MinorFragmentProfile.newBuilder()
+              .setMinorFragmentId(i)
+              .setState(UserBitShared.FragmentState.FINISHED)
+              .setStartTime(1000L + i)
+              .setEndTime(2000L + i));
+    }
+    return UserBitShared.QueryProfile.newBuilder()
+        .setPlan("PLAN_VALUE")
+        .setQuery("Select * from plan")
+        .setState(UserBitShared.QueryResult.QueryState.COMPLETED)
+        .addFragmentProfile(phase)
+        .build();
+  }
+
+  @Test
+  public void testRoundTrip() {
+    UserBitShared.QueryProfile profile = newProfile(1000);
+    byte[] encoded = ProfileCodec.encode(profile);
+
+    assertTrue(encoded.length < profile.getSerializedSize());
+    assertEquals(profile, ProfileCodec.decode(encoded));
+  }
+
+  @Test
+  public void testRoundTripEmptyProfile() {
+    UserBitShared.QueryProfile profile = UserBitShared.QueryProfile.getDefaultInstance();
+    assertEquals(profile, ProfileCodec.decode(ProfileCodec.encode(profile)));
+  }
+
+  @Test
+  public void testDecodeUncompressedProfile() {
+    UserBitShared.QueryProfile profile = newProfile(10);
+    assertEquals(profile, ProfileCodec.decode(profile.toByteArray()));
+    assertEquals(
+        UserBitShared.QueryProfile.getDefaultInstance(), ProfileCodec.decode(new byte[0]));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Serializer<UserBitShared.QueryProfile, byte[]> serializer(
+      Format<UserBitShared.QueryProfile> format) {
+    return (Serializer<UserBitShared.QueryProfile, byte[]>)
+        format.apply(ByteSerializerFactory.INSTANCE);
+  }
+
+  @Test
+  public void testJsonMatchesProtobufFormat() throws Exception {
+    Serializer<UserBitShared.QueryProfile, byte[]> serializer = serializer(ProfileCodec.FORMAT);
+    Serializer<UserBitShared.QueryProfile, byte[]> protobufSerializer =
+        serializer(Format.ofProtobuf(UserBitShared.QueryProfile.class));
+    UserBitShared.QueryProfile profile = newProfile(10);
+
+    String json = serializer.toJson(profile);
+    assertEquals(protobufSerializer.toJson(profile), json);
+    assertEquals(profile, serializer.fromJson(json));
+    assertEquals(profile, ProfileCodec.decode(serializer.serialize(profile)));
+  }
+
+  @Test
+  public void testRestoreUncompressedBackupRecord() throws Exception {
+    // value of a backup record written when profiles were stored as plain protobuf
+    String json =
+        "{\"start\":1000,\"end\":2000,\"query\":\"Select * from plan\","
+            + "\"plan\":\"PLAN_VALUE\",\"totalFragments\":4}";
+    UserBitShared.QueryProfile expected =
+        UserBitShared.QueryProfile.newBuilder()
+            .setStart(1000L)
+            .setEnd(2000L)
+            .setQuery("Select * from plan")
+            .setPlan("PLAN_VALUE")
+            .setTotalFragments(4)
+            .build();
+
+    Serializer<UserBitShared.QueryProfile, byte[]> serializer = serializer(ProfileCodec.FORMAT);
+    UserBitShared.QueryProfile restored = serializer.fromJson(json);
+    assertEquals(expected, restored);
+    assertEquals(expected, serializer.deserialize(serializer.serialize(restored)));
+  }
+}
@@ -21,8 +21,14 @@ import com.dremio.options.OptionManager;
 
 public interface NessieDataplaneCacheProvider {
 
+  /**
+   * Creates a cache for the given source.
+   *
+   * @param sourceName name of the source the cache belongs to, used to tag its metrics
+   */
   <K extends String, V> NessieDataplaneCache<K, V> get(
       OptionManager optionManager,
+      String sourceName,
       DataplaneCacheLoader<K, V> cacheLoader,
       NessieDataplaneCacheStoreProvider provider);
 }
@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.nessiemetadata.cache;
+
+import static com.dremio.telemetry.api.metrics.MeterProviders.newCounterProvider;
+import static com.dremio.telemetry.api.metrics.MeterProviders.newTimerProvider;
+
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.github.benmanes.caffeine.cache.stats.ConcurrentStatsCounter;
+import com.github.benmanes.caffeine.cache.stats.StatsCounter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the statistics of a dataplane metadata cache both locally, so they remain available
+ * through {@link com.github.benmanes.caffeine.cache.Cache#stats()}, and as metrics tagged with the
+ * name of the source and of the cache.
+ */
+final class NessieDataplaneCacheStatsCounter implements StatsCounter {
+  private static final String METRIC_PREFIX = "dataplane.metadata_cache.";
+  private static final String SOURCE_TAG = "source";
+  private static final String CACHE_TAG = "cache";
+
+  private final StatsCounter delegate = new ConcurrentStatsCounter();
+  private final Counter hits;
+  private final Counter misses;
+  private final Counter evictions;
+  private final Timer loadSuccesses;
+  private final Timer loadFailures;
+
+  NessieDataplaneCacheStatsCounter(String sourceName, String cacheName) {
+    final Tags tags = Tags.of(SOURCE_TAG, sourceName, CACHE_TAG, cacheName);
+    hits =
+        newCounterProvider(METRIC_PREFIX + "hits", "Counts dataplane metadata cache hits")
+            .withTags(tags);
+    misses =
+        newCounterProvider(METRIC_PREFIX + "misses", "Counts dataplane metadata cache misses")
+            .withTags(tags);
+    evictions =
+        newCounterProvider(METRIC_PREFIX + "evictions", "Counts dataplane metadata cache evictions")
+            .withTags(tags);
+    loadSuccesses =
+        newTimerProvider(
+                METRIC_PREFIX + "load.success", "Time spent loading dataplane metadata on a miss")
+            .withTags(tags);
+    loadFailures =
+        newTimerProvider(
+                METRIC_PREFIX + "load.failure", "Time spent on failed dataplane metadata loads")
+            .withTags(tags);
+  }
+
+  @Override
+  public void recordHits(int count) {
+    delegate.recordHits(count);
+    hits.increment(count);
+  }
+
+  @Override
+  public void recordMisses(int count) {
+    delegate.recordMisses(count);
+    misses.increment(count);
+  }
+
+  @Override
+  public void recordLoadSuccess(long loadTime) {
+    delegate.recordLoadSuccess(loadTime);
+    loadSuccesses.record(loadTime, TimeUnit.NANOSECONDS);
+  }
+
+  @Override
+  public void recordLoadFailure(long loadTime) {
+    delegate.recordLoadFailure(loadTime);
+    loadFailures.record(loadTime, TimeUnit.NANOSECONDS);
+  }
+
+  @Override
+  public void recordEviction(int weight, RemovalCause cause) {
+    delegate.recordEviction(weight, cause);
+    evictions.increment();
+  }
+
+  @Override
+  public CacheStats snapshot() {
+    return delegate.snapshot();
+  }
+}
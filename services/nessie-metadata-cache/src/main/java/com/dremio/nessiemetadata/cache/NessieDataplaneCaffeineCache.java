@@ -16,7 +16,9 @@
 package com.dremio.nessiemetadata.cache;
 
 import com.dremio.nessiemetadata.cacheLoader.DataplaneCacheLoader;
+import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.apache.iceberg.exceptions.NotFoundException;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.slf4j.Logger;
@@ -27,11 +29,22 @@ public class NessieDataplaneCaffeineCache<K extends String, V>
   private final LoadingCache<K, V> loadingCache;
   private final boolean bypassCache;
   private final DataplaneCacheLoader<K, V> loader;
+  // Keys whose metadata was recently found missing, or null when negative caching is disabled.
+  private final @Nullable Cache<K, NotFoundException> notFoundCache;
   private static final Logger logger = LoggerFactory.getLogger(NessieDataplaneCaffeineCache.class);
 
   public NessieDataplaneCaffeineCache(
       LoadingCache<K, V> loadingCache, boolean bypassCache, DataplaneCacheLoader<K, V> loader) {
+    this(loadingCache, null, bypassCache, loader);
+  }
+
+  public NessieDataplaneCaffeineCache(
+      LoadingCache<K, V> loadingCache,
+      @Nullable Cache<K, NotFoundException> notFoundCache,
+      boolean bypassCache,
+      DataplaneCacheLoader<K, V> loader) {
     this.loadingCache = loadingCache;
+    this.notFoundCache = notFoundCache;
     this.bypassCache = bypassCache;
     this.loader = loader;
   }
@@ -46,7 +59,20 @@ public class NessieDataplaneCaffeineCache<K extends String, V>
         throw new LoadCacheException("Failed to load dataplane cache");
       }
     }
-    return loadingCache.get(var1);
+    if (notFoundCache == null) {
+      return loadingCache.get(var1);
+    }
+
+    final NotFoundException notFound = notFoundCache.getIfPresent(var1);
+    if (notFound != null) {
+      throw new NotFoundException(notFound, "%s", notFound.getMessage());
+    }
+    try {
+      return loadingCache.get(var1);
+    } catch (NotFoundException e) {
+      notFoundCache.put(var1, e);
+      throw e;
+    }
   }
 
   @Override
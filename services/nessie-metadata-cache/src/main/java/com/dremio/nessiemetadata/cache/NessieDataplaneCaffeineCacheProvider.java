@@ -17,13 +17,16 @@ package com.dremio.nessiemetadata.cache;
 
 import static com.dremio.nessiemetadata.cache.NessieMetadataCacheOptions.BYPASS_DATAPLANE_CACHE;
 import static com.dremio.nessiemetadata.cache.NessieMetadataCacheOptions.DATAPLANE_ICEBERG_METADATA_CACHE_EXPIRE_AFTER_ACCESS_MINUTES;
+import static com.dremio.nessiemetadata.cache.NessieMetadataCacheOptions.DATAPLANE_ICEBERG_METADATA_CACHE_NOT_FOUND_TTL_SECONDS;
 import static com.dremio.nessiemetadata.cache.NessieMetadataCacheOptions.DATAPLANE_ICEBERG_METADATA_CACHE_SIZE_ITEMS;
 
 import com.dremio.nessiemetadata.cacheLoader.DataplaneCacheLoader;
 import com.dremio.nessiemetadata.storeprovider.NessieDataplaneCacheStoreProvider;
 import com.dremio.options.OptionManager;
+import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import java.util.concurrent.TimeUnit;
+import org.apache.iceberg.exceptions.NotFoundException;
 
 public class NessieDataplaneCaffeineCacheProvider implements NessieDataplaneCacheProvider {
   public NessieDataplaneCaffeineCacheProvider() {}
@@ -31,8 +34,19 @@ public class NessieDataplaneCaffeineCacheProvider implements NessieDataplaneCach
   @Override
   public <K extends String, V> NessieDataplaneCache<K, V> get(
       OptionManager optionManager,
+      String sourceName,
       DataplaneCacheLoader<K, V> loader,
       NessieDataplaneCacheStoreProvider storeProvider) {
+    final String cacheName = loader.getClass().getSimpleName();
+    final long notFoundTtlSeconds =
+        optionManager.getOption(DATAPLANE_ICEBERG_METADATA_CACHE_NOT_FOUND_TTL_SECONDS);
+    final Cache<K, NotFoundException> notFoundCache =
+        notFoundTtlSeconds == 0
+            ? null
+            : Caffeine.newBuilder()
+                .maximumSize(optionManager.getOption(DATAPLANE_ICEBERG_METADATA_CACHE_SIZE_ITEMS))
+                .expireAfterWrite(notFoundTtlSeconds, TimeUnit.SECONDS)
+                .build();
     return new NessieDataplaneCaffeineCache<>(
         Caffeine.newBuilder()
             .maximumSize(optionManager.getOption(DATAPLANE_ICEBERG_METADATA_CACHE_SIZE_ITEMS))
@@ -41,7 +55,9 @@ public class NessieDataplaneCaffeineCacheProvider implements NessieDataplaneCach
                 optionManager.getOption(
                     DATAPLANE_ICEBERG_METADATA_CACHE_EXPIRE_AFTER_ACCESS_MINUTES),
                 TimeUnit.MINUTES)
+            .recordStats(() -> new NessieDataplaneCacheStatsCounter(sourceName, cacheName))
             .build(loader),
+        notFoundCache,
         optionManager.getOption(BYPASS_DATAPLANE_CACHE),
         loader);
   }
@@ -33,6 +33,13 @@ public final class NessieMetadataCacheOptions {
               1_000_000_000,
               60 /* One hour */);
 
+  // How long a metadata location that failed to load with "not found" is remembered, so repeated
+  // lookups of a missing table or view don't go back to storage. Zero disables negative caching.
+  public static final TypeValidators.RangeLongValidator
+      DATAPLANE_ICEBERG_METADATA_CACHE_NOT_FOUND_TTL_SECONDS =
+          new TypeValidators.RangeLongValidator(
+              "plugins.dataplane.iceberg_metadata_cache.not_found_ttl_seconds", 0, 3600, 30);
+
   public static final TypeValidators.BooleanValidator DATAPLANE_TABLE_CACHE_REDIS_ENABLED =
       new TypeValidators.BooleanValidator("plugins.dataplane.table_cache.redis_enabled", false);
 
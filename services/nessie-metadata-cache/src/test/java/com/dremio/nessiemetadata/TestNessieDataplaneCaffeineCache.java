@@ -15,14 +15,25 @@
  */
 package com.dremio.nessiemetadata;
 
+import static com.dremio.nessiemetadata.cache.NessieMetadataCacheOptions.DATAPLANE_ICEBERG_METADATA_CACHE_EXPIRE_AFTER_ACCESS_MINUTES;
+import static com.dremio.nessiemetadata.cache.NessieMetadataCacheOptions.DATAPLANE_ICEBERG_METADATA_CACHE_SIZE_ITEMS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.dremio.nessiemetadata.cache.NessieDataplaneCache;
 import com.dremio.nessiemetadata.cache.NessieDataplaneCaffeineCache;
+import com.dremio.nessiemetadata.cache.NessieDataplaneCaffeineCacheProvider;
 import com.dremio.nessiemetadata.cacheLoader.DataplaneCacheLoader;
+import com.dremio.options.OptionManager;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.iceberg.exceptions.NotFoundException;
 import org.junit.jupiter.api.Test;
 
 public class TestNessieDataplaneCaffeineCache {
@@ -53,4 +64,56 @@ public class TestNessieDataplaneCaffeineCache {
     verify(loadingCache, times(1)).get("key");
     verify(loader, times(0)).load("key");
   }
+
+  @Test
+  public void testNotFoundIsCached() throws Exception {
+    LoadingCache<String, String> loadingCache = mock(LoadingCache.class);
+    DataplaneCacheLoader<String, String> loader = mock(DataplaneCacheLoader.class);
+    NessieDataplaneCaffeineCache<String, String> cache =
+        new NessieDataplaneCaffeineCache<>(
+            loadingCache, Caffeine.newBuilder().build(), false, loader);
+
+    when(loadingCache.get("key")).thenThrow(new NotFoundException("missing"));
+
+    assertThrows(NotFoundException.class, () -> cache.get("key"));
+    assertThrows(NotFoundException.class, () -> cache.get("key"));
+    verify(loadingCache, times(1)).get("key");
+  }
+
+  @Test
+  public void testMetricsAreTaggedWithSource() throws Exception {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    Metrics.addRegistry(registry);
+    try {
+      OptionManager optionManager = mock(OptionManager.class);
+      when(optionManager.getOption(DATAPLANE_ICEBERG_METADATA_CACHE_SIZE_ITEMS)).thenReturn(10L);
+      when(optionManager.getOption(DATAPLANE_ICEBERG_METADATA_CACHE_EXPIRE_AFTER_ACCESS_MINUTES))
+          .thenReturn(10L);
+      DataplaneCacheLoader<String, String> loader = mock(DataplaneCacheLoader.class);
+      when(loader.load("key")).thenReturn("value");
+
+      NessieDataplaneCache<String, String> cache1 =
+          new NessieDataplaneCaffeineCacheProvider().get(optionManager, "source1", loader, null);
+      NessieDataplaneCache<String, String> cache2 =
+          new NessieDataplaneCaffeineCacheProvider().get(optionManager, "source2", loader, null);
+      cache1.get("key");
+      cache1.get("key");
+      cache2.get("key");
+
+      assertEquals(1, misses(registry, "source1"));
+      assertEquals(1, hits(registry, "source1"));
+      assertEquals(1, misses(registry, "source2"));
+      assertEquals(0, hits(registry, "source2"));
+    } finally {
+      Metrics.removeRegistry(registry);
+    }
+  }
+
+  private static double hits(SimpleMeterRegistry registry, String source) {
+    return registry.get("dataplane.metadata_cache.hits").tag("source", source).counter().count();
+  }
+
+  private static double misses(SimpleMeterRegistry registry, String source) {
+    return registry.get("dataplane.metadata_cache.misses").tag("source", source).counter().count();
+  }
 }
@@ -28,13 +28,16 @@ import org.jetbrains.annotations.NotNull;
 
 /**
  * An abstract representation of a compacted node metrics file, i.e. that represents aggregate node
- * metrics at multiple points in time
+ * metrics at multiple points in time. Compacted files hold most of the retained history, so they
+ * are written gzip compressed; files written uncompressed by earlier versions are still recognized.
  */
 final class NodeMetricsCompactedFile implements NodeMetricsFile {
   private static final NodeMetricsDateTimeFormatter DATETIME_FORMATTER =
       new SecondPrecisionDateTimeFormatter();
   private static final Map<CompactionType, Character> COMPACTION_FILE_PREFIX =
       ImmutableMap.of(CompactionType.Single, 's', CompactionType.Double, 'd');
+  private static final String EXTENSION = ".csv";
+  private static final String COMPRESSED_EXTENSION = ".csv.gz";
 
   private final String name;
   private final CompactionType compactionType;
@@ -60,13 +63,13 @@ final class NodeMetricsCompactedFile implements NodeMetricsFile {
 
   /**
    * Returns a FileSystem-style path glob that can be used to list compacted node metrics files in a
-   * given directory with the specified compaction type
+   * given directory with the specified compaction type, compressed or not
    */
   static Path getGlob(Path baseDirectory, CompactionType compactionType) {
     Preconditions.checkArgument(compactionType != CompactionType.Uncompacted);
     Character prefix = COMPACTION_FILE_PREFIX.get(compactionType);
     return baseDirectory.resolve(
-        String.format("%s_", prefix) + DATETIME_FORMATTER.getDateTimeGlob() + ".csv");
+        String.format("%s_", prefix) + DATETIME_FORMATTER.getDateTimeGlob() + EXTENSION + "*");
   }
 
   /**
@@ -89,6 +92,11 @@ final class NodeMetricsCompactedFile implements NodeMetricsFile {
     return compactionType;
   }
 
+  @Override
+  public boolean isCompressed() {
+    return name.endsWith(COMPRESSED_EXTENSION);
+  }
+
   /**
    * Returns true if the specified file path may represent a compacted node metrics file; otherwise,
    * false
@@ -111,7 +119,14 @@ final class NodeMetricsCompactedFile implements NodeMetricsFile {
   }
 
   private static ZonedDateTime getWriteTimestamp(String fileName) {
-    int fileExtensionIndex = fileName.lastIndexOf(".");
+    int fileExtensionIndex;
+    if (fileName.endsWith(COMPRESSED_EXTENSION)) {
+      fileExtensionIndex = fileName.length() - COMPRESSED_EXTENSION.length();
+    } else if (fileName.endsWith(EXTENSION)) {
+      fileExtensionIndex = fileName.length() - EXTENSION.length();
+    } else {
+      return null;
+    }
     if (fileExtensionIndex < 2) {
       return null;
     }
@@ -129,7 +144,7 @@ final class NodeMetricsCompactedFile implements NodeMetricsFile {
   private static String createNewFilename(CompactionType compactionType) {
     String fileStem = DATETIME_FORMATTER.formatDateTime(Instant.now());
     Character prefix = COMPACTION_FILE_PREFIX.get(compactionType);
-    return String.format("%s_%s.csv", prefix, fileStem);
+    return String.format("%s_%s%s", prefix, fileStem, COMPRESSED_EXTENSION);
   }
 
   @Override
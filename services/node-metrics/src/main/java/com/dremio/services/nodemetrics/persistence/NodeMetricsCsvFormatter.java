@@ -18,10 +18,11 @@ package com.dremio.services.nodemetrics.persistence;
 
 import com.dremio.services.nodemetrics.NodeMetrics;
 import com.google.common.annotations.VisibleForTesting;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.Clock;
 import java.time.Instant;
 import java.time.ZoneId;
-import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 
@@ -29,6 +30,8 @@ import java.util.List;
 class NodeMetricsCsvFormatter {
   private static final String DATETIME_STR_FORMAT = "yyyy-MM-dd HH:mm:ss.SSS";
   private static final ZoneId TIMEZONE = ZoneId.of("UTC");
+  private static final DateTimeFormatter DATETIME_FORMATTER =
+      DateTimeFormatter.ofPattern(DATETIME_STR_FORMAT).withZone(TIMEZONE);
 
   private final Clock clock;
 
@@ -48,35 +51,51 @@ class NodeMetricsCsvFormatter {
    */
   String toCsv(List<NodeMetrics> nodeMetricsList) {
     StringBuilder csvString = new StringBuilder();
-    ZonedDateTime utcTimestamp = ZonedDateTime.ofInstant(Instant.now(clock), TIMEZONE);
+    // All the lines share the same timestamp, so only format it once
+    String dateTimeString = DATETIME_FORMATTER.format(Instant.now(clock));
     for (NodeMetrics nodeMetrics : nodeMetricsList) {
-      String line = toCsv(nodeMetrics, utcTimestamp);
-      csvString.append(line);
+      appendCsv(csvString, nodeMetrics, dateTimeString);
       csvString.append("\n");
     }
     return csvString.toString();
   }
 
-  private String toCsv(NodeMetrics nodeMetrics, ZonedDateTime utcTimestamp) {
-    DateTimeFormatter dateTimeFormatter =
-        DateTimeFormatter.ofPattern(DATETIME_STR_FORMAT).withZone(TIMEZONE);
-    String dateTimeString = dateTimeFormatter.format(utcTimestamp);
-    String startTimeString = dateTimeFormatter.format(Instant.ofEpochMilli(nodeMetrics.getStart()));
+  private static void appendCsv(
+      StringBuilder csvString, NodeMetrics nodeMetrics, String dateTimeString) {
+    String startTimeString =
+        DATETIME_FORMATTER.format(Instant.ofEpochMilli(nodeMetrics.getStart()));
 
     // This should be kept in sync with the system table implementation (projected and type-casted
     // fields)
-    return String.format(
-        "%s,\"%s\",\"%s\",%s,%f,%f,%s,%s,%s,%s,%s",
-        dateTimeString,
-        nodeMetrics.getName(),
-        nodeMetrics.getHost(),
-        nodeMetrics.getIp(),
-        nodeMetrics.getCpu(),
-        nodeMetrics.getMemory(),
-        nodeMetrics.getStatus(),
-        nodeMetrics.getIsMaster(),
-        nodeMetrics.getIsCoordinator(),
-        nodeMetrics.getIsExecutor(),
-        startTimeString);
+    csvString
+        .append(dateTimeString)
+        .append(",\"")
+        .append(nodeMetrics.getName())
+        .append("\",\"")
+        .append(nodeMetrics.getHost())
+        .append("\",")
+        .append(nodeMetrics.getIp())
+        .append(',')
+        .append(toDecimalString(nodeMetrics.getCpu()))
+        .append(',')
+        .append(toDecimalString(nodeMetrics.getMemory()))
+        .append(',')
+        .append(nodeMetrics.getStatus())
+        .append(',')
+        .append(nodeMetrics.getIsMaster())
+        .append(',')
+        .append(nodeMetrics.getIsCoordinator())
+        .append(',')
+        .append(nodeMetrics.getIsExecutor())
+        .append(',')
+        .append(startTimeString);
+  }
+
+  /** Formats the value with six decimals like {@code %f}, without parsing a format per value. */
+  private static String toDecimalString(Double value) {
+    if (value == null || !Double.isFinite(value)) {
+      return String.valueOf(value);
+    }
+    return BigDecimal.valueOf(value).setScale(6, RoundingMode.HALF_UP).toPlainString();
   }
 }
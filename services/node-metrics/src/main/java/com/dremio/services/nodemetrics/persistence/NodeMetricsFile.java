@@ -24,4 +24,7 @@ interface NodeMetricsFile extends Comparable<NodeMetricsFile> {
   String getName();
 
   CompactionType getCompactionType();
+
+  /** True if the CSV contents are gzip compressed */
+  boolean isCompressed();
 }
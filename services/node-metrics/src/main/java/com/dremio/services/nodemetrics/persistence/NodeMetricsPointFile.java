@@ -77,6 +77,11 @@ final class NodeMetricsPointFile implements NodeMetricsFile {
     return CompactionType.Uncompacted;
   }
 
+  @Override
+  public boolean isCompressed() {
+    return false;
+  }
+
   /**
    * Returns true if the specified file name may represent an uncompacted node metrics file;
    * otherwise, false
@@ -33,6 +33,8 @@ import java.util.List;
 import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 import javax.inject.Provider;
 import org.apache.commons.io.IOUtils;
 import org.jetbrains.annotations.NotNull;
@@ -52,17 +54,13 @@ class NodeMetricsStorage {
   }
 
   void write(InputStream contents, NodeMetricsFile file) throws IOException {
-    preWrite();
-    Path filePath = getBaseDirectory().resolve(file.getName());
-    try (OutputStream output = getFileSystem().create(filePath, false)) {
+    try (OutputStream output = create(file)) {
       IOUtils.copy(contents, output);
     }
   }
 
   void write(ByteArrayOutputStream contents, NodeMetricsFile file) throws IOException {
-    preWrite();
-    Path filePath = getBaseDirectory().resolve(file.getName());
-    try (OutputStream output = getFileSystem().create(filePath, false)) {
+    try (OutputStream output = create(file)) {
       contents.writeTo(output);
     }
   }
@@ -102,9 +100,34 @@ class NodeMetricsStorage {
     return new NodeMetricsDirectoryStream(getFileSystem().glob(pattern, filter));
   }
 
+  /** Opens the file for reading its CSV contents, decompressing them if needed */
   InputStream open(NodeMetricsFile file) throws IOException {
     Path path = getBaseDirectory().resolve(file.getName());
-    return getFileSystem().open(path);
+    InputStream input = getFileSystem().open(path);
+    if (!file.isCompressed()) {
+      return input;
+    }
+    try {
+      return new GZIPInputStream(input);
+    } catch (IOException e) {
+      input.close();
+      throw e;
+    }
+  }
+
+  private OutputStream create(NodeMetricsFile file) throws IOException {
+    preWrite();
+    Path filePath = getBaseDirectory().resolve(file.getName());
+    OutputStream output = getFileSystem().create(filePath, false);
+    if (!file.isCompressed()) {
+      return output;
+    }
+    try {
+      return new GZIPOutputStream(output);
+    } catch (IOException e) {
+      output.close();
+      throw e;
+    }
   }
 
   private void preWrite() throws IOException {
@@ -25,6 +25,7 @@ import org.junit.jupiter.api.Test;
 public class TestNodeMetricsCompactedFile {
   private static final String SINGLE_COMPACTED = "s_20240513T143026Z.csv";
   private static final String DOUBLE_COMPACTED = "d_20240512T081459Z.csv";
+  private static final String SINGLE_COMPACTED_COMPRESSED = "s_20240513T143026Z.csv.gz";
 
   @Test
   public void testFrom_SingleCompacted() {
@@ -46,11 +47,30 @@ public class TestNodeMetricsCompactedFile {
     Assertions.assertEquals(expectedWriteTimestamp, nodeMetricsFile.getWriteTimestamp());
   }
 
+  @Test
+  public void testFrom_Compressed() {
+    NodeMetricsFile nodeMetricsFile = NodeMetricsCompactedFile.from(SINGLE_COMPACTED_COMPRESSED);
+    Assertions.assertEquals(CompactionType.Single, nodeMetricsFile.getCompactionType());
+    Assertions.assertEquals(SINGLE_COMPACTED_COMPRESSED, nodeMetricsFile.getName());
+    Assertions.assertTrue(nodeMetricsFile.isCompressed());
+    ZonedDateTime expectedWriteTimestamp =
+        ZonedDateTime.of(2024, 5, 13, 14, 30, 26, 0, ZoneId.of("UTC"));
+    Assertions.assertEquals(expectedWriteTimestamp, nodeMetricsFile.getWriteTimestamp());
+  }
+
+  @Test
+  public void testFrom_Uncompressed() {
+    Assertions.assertFalse(NodeMetricsCompactedFile.from(SINGLE_COMPACTED).isCompressed());
+    Assertions.assertFalse(NodeMetricsCompactedFile.from(DOUBLE_COMPACTED).isCompressed());
+  }
+
   @Test
   public void testNewInstance_SingleCompacted() {
     Instant before = TimeUtils.getNowSeconds();
     NodeMetricsFile nodeMetricsFile = NodeMetricsCompactedFile.newInstance(CompactionType.Single);
     Assertions.assertEquals(CompactionType.Single, nodeMetricsFile.getCompactionType());
+    Assertions.assertTrue(nodeMetricsFile.isCompressed());
+    Assertions.assertTrue(nodeMetricsFile.getName().endsWith(".csv.gz"));
     Instant writeTimestamp = nodeMetricsFile.getWriteTimestamp().toInstant();
     Assertions.assertTrue(
         TimeUtils.firstIsBeforeOrEqualsSecond(before, writeTimestamp)
@@ -74,7 +94,7 @@ public class TestNodeMetricsCompactedFile {
     Path glob = NodeMetricsCompactedFile.getGlob(baseDirectory, CompactionType.Single);
     Path expected =
         Path.of(
-            "/a/b/s_[0-9][0-9][0-9][0-9][0-9][0-9][0-9][0-9]T[0-9][0-9][0-9][0-9][0-9][0-9]Z.csv");
+            "/a/b/s_[0-9][0-9][0-9][0-9][0-9][0-9][0-9][0-9]T[0-9][0-9][0-9][0-9][0-9][0-9]Z.csv*");
     Assertions.assertEquals(expected, glob);
   }
 
@@ -84,7 +104,7 @@ public class TestNodeMetricsCompactedFile {
     Path glob = NodeMetricsCompactedFile.getGlob(baseDirectory, CompactionType.Double);
     Path expected =
         Path.of(
-            "/a/b/d_[0-9][0-9][0-9][0-9][0-9][0-9][0-9][0-9]T[0-9][0-9][0-9][0-9][0-9][0-9]Z.csv");
+            "/a/b/d_[0-9][0-9][0-9][0-9][0-9][0-9][0-9][0-9]T[0-9][0-9][0-9][0-9][0-9][0-9]Z.csv*");
     Assertions.assertEquals(expected, glob);
   }
 
@@ -94,6 +114,11 @@ public class TestNodeMetricsCompactedFile {
     Assertions.assertFalse(NodeMetricsCompactedFile.isValid(invalidName));
   }
 
+  @Test
+  public void testIsValid_UnknownExtension() {
+    Assertions.assertFalse(NodeMetricsCompactedFile.isValid("s_20240513T143026Z.csv.tmp"));
+  }
+
   @Test
   public void testIsValid_Uncompacted() {
     String uncompactedName = "20240511T102011Z.csv";
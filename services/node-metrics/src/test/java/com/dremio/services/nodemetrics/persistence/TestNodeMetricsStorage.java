@@ -22,14 +22,18 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.dremio.io.FSInputStream;
 import com.dremio.io.FSOutputStream;
 import com.dremio.io.file.FileAttributes;
 import com.dremio.io.file.FileSystem;
 import com.dremio.io.file.Path;
 import com.dremio.plugins.nodeshistory.NodesHistoryStoreConfig;
 import com.google.common.base.Preconditions;
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.DirectoryStream;
 import java.nio.file.attribute.FileTime;
@@ -47,6 +51,7 @@ import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
 import javax.ws.rs.NotSupportedException;
 import org.apache.commons.collections4.IteratorUtils;
 import org.apache.commons.io.IOUtils;
@@ -68,12 +73,14 @@ public class TestNodeMetricsStorage {
       NodeMetricsPointFile.from(TimeUtils.getNodeMetricsFilename(Duration.ofSeconds(1)));
   private static final NodeMetricsFile uncompacted2 =
       NodeMetricsPointFile.from(TimeUtils.getNodeMetricsFilename(Duration.ofSeconds(2)));
+  // compacted files written before compression was introduced are plain .csv and still listed
   private static final NodeMetricsFile compacted =
       NodeMetricsCompactedFile.from(
           TimeUtils.getNodeMetricsFilename(Duration.ofSeconds(1), CompactionType.Single));
+  // compacted files are now written as .csv.gz
   private static final NodeMetricsFile compacted2 =
       NodeMetricsCompactedFile.from(
-          TimeUtils.getNodeMetricsFilename(Duration.ofSeconds(2), CompactionType.Single));
+          TimeUtils.getNodeMetricsFilename(Duration.ofSeconds(2), CompactionType.Single) + ".gz");
   private static final NodeMetricsFile recompacted =
       NodeMetricsCompactedFile.from(
           TimeUtils.getNodeMetricsFilename(Duration.ofSeconds(1), CompactionType.Double));
@@ -122,6 +129,50 @@ public class TestNodeMetricsStorage {
     }
   }
 
+  @Test
+  public void testWriteAndOpen_Compressed() throws IOException {
+    String input = "hello world";
+    ByteArrayOutputStream stream = new ByteArrayOutputStream();
+    IOUtils.copy(IOUtils.toInputStream(input, StandardCharsets.UTF_8), stream);
+    Path path = testPathMetrics.resolve(compacted2.getName());
+
+    try (OutputStream outputStream = new OutputStream()) {
+      FileSystem fs = mock(FileSystem.class);
+      when(fs.create(path, false)).thenReturn(outputStream);
+      NodesHistoryStoreConfig config = new NodesHistoryStoreConfig(testPath, fs);
+      NodeMetricsStorage nodeMetricsStorage = new NodeMetricsStorage(() -> config);
+
+      nodeMetricsStorage.write(stream, compacted2);
+
+      byte[] written = outputStream.asByteArrayOutputStream().toByteArray();
+      try (GZIPInputStream decompressed = new GZIPInputStream(new ByteArrayInputStream(written))) {
+        Assertions.assertArrayEquals(
+            input.getBytes(StandardCharsets.UTF_8), IOUtils.toByteArray(decompressed));
+      }
+
+      when(fs.open(path)).thenReturn(new ByteArrayFSInputStream(written));
+      try (InputStream read = nodeMetricsStorage.open(compacted2)) {
+        Assertions.assertArrayEquals(
+            input.getBytes(StandardCharsets.UTF_8), IOUtils.toByteArray(read));
+      }
+    }
+  }
+
+  @Test
+  public void testOpen_Uncompressed() throws IOException {
+    String input = "hello world";
+    FileSystem fs = mock(FileSystem.class);
+    when(fs.open(testPathMetrics.resolve(compacted.getName())))
+        .thenReturn(new ByteArrayFSInputStream(input.getBytes(StandardCharsets.UTF_8)));
+    NodesHistoryStoreConfig config = new NodesHistoryStoreConfig(testPath, fs);
+    NodeMetricsStorage nodeMetricsStorage = new NodeMetricsStorage(() -> config);
+
+    try (InputStream read = nodeMetricsStorage.open(compacted)) {
+      Assertions.assertArrayEquals(
+          input.getBytes(StandardCharsets.UTF_8), IOUtils.toByteArray(read));
+    }
+  }
+
   @Test
   public void testDelete() throws IOException {
     FileSystem fs = mock(FileSystem.class);
@@ -159,11 +210,13 @@ public class TestNodeMetricsStorage {
     Map<CompactionType, ArgumentCaptor<Predicate<Path>>> predicateArgumentCaptors = new HashMap<>();
     for (CompactionType compactionType : compactionTypes) {
       String prefix = getFilePrefix(compactionType);
+      String extension = compactionType == CompactionType.Uncompacted ? ".csv" : ".csv*";
       Path expectedGlob =
           testPathMetrics.resolve(
               String.format(
-                  "%s[0-9][0-9][0-9][0-9][0-9][0-9][0-9][0-9]T[0-9][0-9][0-9][0-9][0-9][0-9]Z.csv",
-                  prefix));
+                  "%s[0-9][0-9][0-9][0-9][0-9][0-9][0-9][0-9]T[0-9][0-9][0-9][0-9][0-9][0-9]Z%s",
+                  prefix,
+                  extension));
       ArgumentCaptor<Predicate<Path>> predicateArgumentCaptor =
           ArgumentCaptor.forClass(Predicate.class);
       predicateArgumentCaptors.put(compactionType, predicateArgumentCaptor);
@@ -317,4 +370,37 @@ public class TestNodeMetricsStorage {
       return wrappedStream;
     }
   }
+
+  private static class ByteArrayFSInputStream extends FSInputStream {
+    private final ByteArrayInputStream wrappedStream;
+
+    ByteArrayFSInputStream(byte[] contents) {
+      this.wrappedStream = new ByteArrayInputStream(contents);
+    }
+
+    @Override
+    public int read() {
+      return wrappedStream.read();
+    }
+
+    @Override
+    public int read(ByteBuffer dst) {
+      throw new NotSupportedException();
+    }
+
+    @Override
+    public int read(long position, ByteBuffer dst) {
+      throw new NotSupportedException();
+    }
+
+    @Override
+    public long getPosition() {
+      throw new NotSupportedException();
+    }
+
+    @Override
+    public void setPosition(long position) {
+      throw new NotSupportedException();
+    }
+  }
 }
@@ -15,8 +15,49 @@
  */
 package com.dremio.partitionstats.storeprovider;
 
+import com.dremio.datastore.format.Format;
+import com.dremio.datastore.transientstore.InMemoryTransientStore;
 import com.dremio.datastore.transientstore.InMemoryTransientStoreProvider;
+import com.dremio.datastore.transientstore.TransientStore;
+import com.google.protobuf.MessageLite;
 
-/** In memory store provider for partition stats cache. */
+/**
+ * In memory store provider for partition stats cache. When created with a maximum size, the stores
+ * evict their least recently used entries once the approximate size of the cached keys and values
+ * exceeds it.
+ */
 public class PartitionStatsCacheInMemoryStoreProvider extends InMemoryTransientStoreProvider
-    implements PartitionStatsCacheStoreProvider {}
+    implements PartitionStatsCacheStoreProvider {
+  // approximate per entry overhead of the cache, the entry tag and the protobuf objects.
+  private static final int ENTRY_OVERHEAD_BYTES = 128;
+
+  private final long maxSizeInBytes;
+
+  public PartitionStatsCacheInMemoryStoreProvider() {
+    this(0);
+  }
+
+  /**
+   * @param maxSizeInBytes maximum approximate size of each store, or 0 for unbounded stores
+   */
+  public PartitionStatsCacheInMemoryStoreProvider(long maxSizeInBytes) {
+    this.maxSizeInBytes = maxSizeInBytes;
+  }
+
+  @Override
+  public <K, V, T extends TransientStore<K, V>> T getStore(
+      Format<K> keyFormat, Format<V> valueFormat, int ttl) {
+    if (maxSizeInBytes <= 0) {
+      return super.getStore(keyFormat, valueFormat, ttl);
+    }
+    return (T)
+        new InMemoryTransientStore<K, V>(
+            ttl,
+            maxSizeInBytes,
+            (key, value) -> ENTRY_OVERHEAD_BYTES + sizeOf(key) + sizeOf(value));
+  }
+
+  private static int sizeOf(Object object) {
+    return object instanceof MessageLite ? ((MessageLite) object).getSerializedSize() : 0;
+  }
+}
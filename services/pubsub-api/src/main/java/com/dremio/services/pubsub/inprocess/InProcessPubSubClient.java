@@ -39,6 +39,7 @@ import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Queue;
@@ -75,6 +76,9 @@ public class InProcessPubSubClient implements PubSubClient, Closeable {
 
   private static final String INSTRUMENTATION_SCOPE_NAME = "dremio.pubsub.inprocess";
 
+  // Time from publishing, or scheduling for redelivery, of a message to the start of processing.
+  private static final String QUEUE_MILLIS_ATTRIBUTE = "dremio.pubsub.queue_millis";
+
   private static final Random random = new Random();
 
   private final OptionManager optionManager;
@@ -215,6 +219,10 @@ public class InProcessPubSubClient implements PubSubClient, Closeable {
               queuesByTopicName.entrySet()) {
             long maxMessagesToPoll =
                 optionManager.getOption(InProcessPubSubClientOptions.MAX_MESSAGES_TO_POLL);
+            long maxMessagesPerTask =
+                optionManager.getOption(InProcessPubSubClientOptions.MAX_MESSAGES_PER_TASK);
+            // Messages polled for each subscriber, submitted as one task once full.
+            Map<Subscriber<?>, List<MessageContainer<?>>> batches = new IdentityHashMap<>();
             while (!entry.getValue().isEmpty() && maxMessagesToPoll-- > 0) {
               // The peek/poll logic here won't let parallelize this method as poll may return a
               // different result if multiple threads poll from the queues.
@@ -226,15 +234,26 @@ public class InProcessPubSubClient implements PubSubClient, Closeable {
                     subscribersBySubscriptionName.get(messageContainer.getSubscriptionName());
               }
               if (subscriber != null) {
-                // Try to acquire permit to process the message.
-                if (messagesInProcessingSemaphore.tryAcquire(
-                    optionManager.getOption(InProcessPubSubClientOptions.QUEUE_POLL_MILLIS),
-                    TimeUnit.MILLISECONDS)) {
-                  final MessageContainer<?> messageContainer1 = queue.poll();
-                  executorService.submit(() -> subscriber.processMessage(messageContainer1));
+                // Try to acquire permit to process the message. Messages holding permits must
+                // not wait in a batch while blocking on more permits.
+                if (!messagesInProcessingSemaphore.tryAcquire()) {
+                  submitBatches(batches);
+                  if (!messagesInProcessingSemaphore.tryAcquire(
+                      optionManager.getOption(InProcessPubSubClientOptions.QUEUE_POLL_MILLIS),
+                      TimeUnit.MILLISECONDS)) {
+                    continue;
+                  }
+                }
+                List<MessageContainer<?>> batch =
+                    batches.computeIfAbsent(subscriber, (key) -> new ArrayList<>());
+                batch.add(queue.poll());
+                if (batch.size() >= maxMessagesPerTask) {
+                  batches.remove(subscriber);
+                  submitBatch(subscriber, batch);
                 }
               }
             }
+            submitBatches(batches);
 
             if (!entry.getValue().isEmpty()) {
               setPublishEvent = true;
@@ -262,6 +281,30 @@ public class InProcessPubSubClient implements PubSubClient, Closeable {
     }
   }
 
+  private void submitBatches(Map<Subscriber<?>, List<MessageContainer<?>>> batches) {
+    for (Map.Entry<Subscriber<?>, List<MessageContainer<?>>> batch : batches.entrySet()) {
+      submitBatch(batch.getKey(), batch.getValue());
+    }
+    batches.clear();
+  }
+
+  private void submitBatch(Subscriber<?> subscriber, List<MessageContainer<?>> batch) {
+    executorService.submit(
+        () -> {
+          for (MessageContainer<?> messageContainer : batch) {
+            // Every message holds a permit, a failure must neither skip the rest of the batch nor
+            // keep their permits.
+            try {
+              subscriber.processMessage(messageContainer);
+            } catch (RuntimeException e) {
+              logger.error("Failed to process message {}", messageContainer.getId(), e);
+            } finally {
+              messagesInProcessingSemaphore.release();
+            }
+          }
+        });
+  }
+
   /**
    * The publisher adds {@link MessageContainer}s, one for every subscriber registered at the time
    * of message publish.
@@ -373,6 +416,9 @@ public class InProcessPubSubClient implements PubSubClient, Closeable {
           subscriptionName,
           Context.current(),
           (span) -> {
+            span.setAttribute(
+                QUEUE_MILLIS_ATTRIBUTE,
+                System.currentTimeMillis() - messageContainer.getEnqueuedTimeMillis());
             try {
               messageConsumer.process((MessageContainer<M>) messageContainer);
 
@@ -388,9 +434,6 @@ public class InProcessPubSubClient implements PubSubClient, Closeable {
               // handle
               // exceptions otherwise.
               messageContainer.ack();
-            } finally {
-              // Release the permit.
-              messagesInProcessingSemaphore.release();
             }
             return null;
           });
@@ -425,6 +468,7 @@ public class InProcessPubSubClient implements PubSubClient, Closeable {
     private long remainingRedeliveryAttempts =
         optionManager.getOption(InProcessPubSubClientOptions.MAX_REDELIVERY_ATTEMPTS);
     private long redeliverTimeMillis;
+    private long enqueuedTimeMillis = System.currentTimeMillis();
 
     private MessageContainer(
         String topicName,
@@ -458,12 +502,17 @@ public class InProcessPubSubClient implements PubSubClient, Closeable {
                   * optionManager.getOption(
                       InProcessPubSubClientOptions.MAX_DELAY_FOR_REDELIVERY_SECONDS);
       this.redeliverTimeMillis = (long) (minMillis + (maxMillis - minMillis) * random.nextDouble());
+      this.enqueuedTimeMillis = redeliverTimeMillis;
     }
 
     private long getRedeliverTimeMillis() {
       return redeliverTimeMillis;
     }
 
+    private long getEnqueuedTimeMillis() {
+      return enqueuedTimeMillis;
+    }
+
     @Override
     public CompletableFuture<MessageAckStatus> ack() {
       // Nothing to do, just return success.
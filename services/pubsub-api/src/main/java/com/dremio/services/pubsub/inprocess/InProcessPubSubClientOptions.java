@@ -40,6 +40,13 @@ public final class InProcessPubSubClientOptions {
   public static final TypeValidators.LongValidator MAX_MESSAGES_TO_POLL =
       new TypeValidators.LongValidator("dremio.pubsub.inprocess.max_messages_to_poll", 50);
 
+  /**
+   * Maximum number of messages of a subscription processed sequentially by one executor task.
+   * Batching messages reduces the per-message dispatch overhead when many messages are queued.
+   */
+  public static final TypeValidators.LongValidator MAX_MESSAGES_PER_TASK =
+      new TypeValidators.LongValidator("dremio.pubsub.inprocess.max_messages_per_task", 10);
+
   /** Maximum number of messages that could be processed/queued to executor at most. */
   public static final TypeValidators.LongValidator MAX_MESSAGES_IN_PROCESSING =
       new TypeValidators.LongValidator("dremio.pubsub.inprocess.max_messages_in_processing", 50);
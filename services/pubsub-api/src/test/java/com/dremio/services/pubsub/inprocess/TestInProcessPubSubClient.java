@@ -19,9 +19,11 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -276,6 +278,73 @@ public class TestInProcessPubSubClient {
     assertTrue(latch.await(2000, TimeUnit.MILLISECONDS));
   }
 
+  /**
+   * This tests that batching messages per executor task delivers all messages when there are fewer
+   * processing permits than messages in a batch.
+   */
+  @Test
+  public void test_batchLargerThanMaxInProcessing() throws Exception {
+    doAnswer(
+            (args) -> {
+              TypeValidators.LongValidator validator = args.getArgument(0);
+              switch (validator.getOptionName()) {
+                case "dremio.pubsub.inprocess.max_messages_per_task":
+                  return 10L;
+                case "dremio.pubsub.inprocess.max_messages_in_processing":
+                  return 3L;
+                default:
+                  return validator.getDefault().getNumVal();
+              }
+            })
+        .when(optionManager)
+        .getOption(any(TypeValidators.LongValidator.class));
+    startClient();
+
+    int messagesToPublish = 1000;
+    CountDownLatch latch = messageConsumer.initLatch(messagesToPublish);
+    Timestamp timestamp = Timestamp.newBuilder().setSeconds(1000L).build();
+    for (int i = 0; i < messagesToPublish; i++) {
+      publisher.publish(timestamp);
+    }
+
+    assertTrue(latch.await(10, TimeUnit.SECONDS));
+  }
+
+  /**
+   * This tests that a message failing outside of the consumer neither drops the rest of its batch
+   * nor keeps the processing permits.
+   */
+  @Test
+  public void test_failedMessageReleasesPermits() throws Exception {
+    doAnswer(
+            (args) -> {
+              TypeValidators.LongValidator validator = args.getArgument(0);
+              switch (validator.getOptionName()) {
+                case "dremio.pubsub.inprocess.max_messages_per_task":
+                  return 10L;
+                case "dremio.pubsub.inprocess.max_messages_in_processing":
+                  return 2L;
+                default:
+                  return validator.getDefault().getNumVal();
+              }
+            })
+        .when(optionManager)
+        .getOption(any(TypeValidators.LongValidator.class));
+    doThrow(new IllegalStateException("listener failure"))
+        .when(eventListener)
+        .onMessageReceived(any(), any(), anyBoolean(), any());
+    startClient();
+
+    int messagesToPublish = 20;
+    CountDownLatch latch = messageConsumer.initLatch(messagesToPublish);
+    Timestamp timestamp = Timestamp.newBuilder().setSeconds(1000L).build();
+    for (int i = 0; i < messagesToPublish; i++) {
+      publisher.publish(timestamp);
+    }
+
+    assertTrue(latch.await(10, TimeUnit.SECONDS));
+  }
+
   public static final class TestTopic implements Topic<Timestamp> {
     @Override
     public String getName() {
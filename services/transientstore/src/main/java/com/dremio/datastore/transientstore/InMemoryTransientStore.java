@@ -24,6 +24,7 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Ticker;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.Weigher;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterables;
 import java.util.AbstractMap;
@@ -68,6 +69,29 @@ public class InMemoryTransientStore<K, V> implements TransientStore<K, V> {
             .build();
   }
 
+  /**
+   * Creates an instance of this class whose entries are also evicted, least recently used first,
+   * once the total weight of the stored entries exceeds the given maximum.
+   *
+   * @param ttlInSeconds the number of seconds after which entries are expired from the store
+   * @param maximumWeight the maximum total weight of the entries in the store
+   * @param weigher computes the weight of an entry, typically its approximate size in bytes
+   */
+  @SuppressWarnings("NoGuavaCacheUsage") // TODO: fix as part of DX-51884
+  public InMemoryTransientStore(int ttlInSeconds, long maximumWeight, Weigher<K, V> weigher) {
+    this.timeToLive = ttlInSeconds;
+
+    this.cache =
+        CacheBuilder.newBuilder()
+            .expireAfterAccess(ttlInSeconds, TimeUnit.SECONDS)
+            .concurrencyLevel(4)
+            .maximumWeight(maximumWeight)
+            .weigher(
+                (Weigher<K, Entry<V, String>>)
+                    (key, entry) -> weigher.weigh(key, entry.getKey()))
+            .build();
+  }
+
   @SuppressWarnings("NoGuavaCacheUsage") // TODO: fix as part of DX-51884
   @VisibleForTesting
   public InMemoryTransientStore(int ttlInSeconds, Ticker ticker) {
@@ -37,6 +37,7 @@ import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 import org.junit.Test;
@@ -247,6 +248,21 @@ public class TestInMemoryTransientStore {
     assertNull(store.get("key"));
   }
 
+  // weight tests
+  @Test
+  public void testEntriesEvictedOverMaximumWeight() {
+    final InMemoryTransientStore<String, Integer> store =
+        new InMemoryTransientStore<>(60, 100, (key, value) -> value);
+    for (int i = 0; i < 100; i++) {
+      store.put("key" + i, 10);
+    }
+
+    final long totalWeight =
+        IntStream.range(0, 100).filter(i -> store.contains("key" + i)).count() * 10;
+    assertTrue(totalWeight <= 100);
+    assertTrue(store.contains("key99"));
+  }
+
   // InMemoryTransientStoreProvider tests
   @Test
   public void testProvider() throws Exception {